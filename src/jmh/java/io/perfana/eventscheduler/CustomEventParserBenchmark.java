@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.CustomEventParser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures parsing of large custom event schedules: the regular expression based
+ * <code>CustomEvent.createFromLine</code> per line, as the default generator did before, versus the
+ * single pass <code>CustomEventParser</code> on the whole schedule and on a reader.
+ * <pre>
+ *     java -jar build/libs/event-scheduler-*-jmh.jar CustomEventParserBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CustomEventParserBenchmark {
+
+    @Param({"100000"})
+    private int lineCount;
+
+    private String schedule;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        StringBuilder text = new StringBuilder(lineCount * 64);
+        for (int i = 0; i < lineCount; i++) {
+            if (i % 100 == 0) {
+                text.append("# block ").append(i / 100).append('\n');
+            }
+            text.append("PT").append(i / 3600).append('H').append(i / 60 % 60).append('M').append(i % 60).append(".5S|");
+            if (i % 2 == 0) {
+                text.append("event-").append(i % 10).append("(description of event ").append(i).append(")|replicas=").append(i % 5);
+            }
+            else {
+                text.append("event-").append(i % 10);
+            }
+            text.append('\n');
+        }
+        schedule = text.toString();
+    }
+
+    @Benchmark
+    public List<CustomEvent> createFromLine() throws IOException {
+        try (BufferedReader reader = new BufferedReader(new StringReader(schedule))) {
+            return reader.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#") && !line.startsWith("@"))
+                .map(CustomEvent::createFromLine)
+                .collect(Collectors.toList());
+        }
+    }
+
+    @Benchmark
+    public List<CustomEvent> parse() {
+        return CustomEventParser.parse(schedule);
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        try (Stream<CustomEvent> events = CustomEventParser.stream(new StringReader(schedule))) {
+            events.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.Event;
+import io.perfana.eventscheduler.api.EventCheck;
+import io.perfana.eventscheduler.api.EventStatus;
+import io.perfana.eventscheduler.log.EventLoggerDevNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures the cost of the fan-out of the broadcast calls to all registered events.
+ * <br/>
+ * Use <code>latencyMicros</code> to simulate the time an event call takes, for instance
+ * a remote call to Perfana. Example to run from the jmh jar:
+ * <pre>
+ *     java -jar build/libs/event-scheduler-*-jmh.jar EventBroadcasterBenchmark -p latencyMicros=500 -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventBroadcasterBenchmark {
+
+    @Param({"async", "default"})
+    private String broadcasterType;
+
+    @Param({"1", "10", "100", "1000"})
+    private int eventCount;
+
+    @Param({"0"})
+    private long latencyMicros;
+
+    private final AtomicLong customEventsDone = new AtomicLong();
+
+    private final CustomEvent customEvent = new CustomEvent(Duration.ofSeconds(1), "benchmark-event", "benchmark");
+
+    private EventBroadcaster broadcaster;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        List<Event> events = new ArrayList<>(eventCount);
+        for (int i = 0; i < eventCount; i++) {
+            events.add(new BenchmarkEvent("event-" + i, TimeUnit.MICROSECONDS.toNanos(latencyMicros), customEventsDone));
+        }
+        broadcaster = "async".equals(broadcasterType)
+            ? new EventBroadcasterAsync(events, EventLoggerDevNull.INSTANCE)
+            : new EventBroadcasterDefault(events, EventLoggerDevNull.INSTANCE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        broadcaster.shutdownAndWaitAllTasksDone(10);
+    }
+
+    @Benchmark
+    public void broadcastBeforeTest() {
+        broadcaster.broadcastBeforeTest();
+    }
+
+    @Benchmark
+    public void broadcastKeepAlive() {
+        broadcaster.broadcastKeepAlive();
+    }
+
+    /**
+     * The async broadcast of custom events does not wait for the events to finish,
+     * so wait here for all events to be called to avoid an ever-growing backlog of tasks.
+     */
+    @Benchmark
+    public void broadcastCustomEvent() {
+        long expected = customEventsDone.get() + eventCount;
+        broadcaster.broadcastCustomEvent(customEvent);
+        while (customEventsDone.get() < expected) {
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    public List<EventCheck> broadcastCheck() {
+        return broadcaster.broadcastCheck();
+    }
+
+    private static class BenchmarkEvent implements Event {
+
+        private final String name;
+        private final long latencyNanos;
+        private final AtomicLong customEventsDone;
+        private final EventCheck eventCheck;
+
+        BenchmarkEvent(String name, long latencyNanos, AtomicLong customEventsDone) {
+            this.name = name;
+            this.latencyNanos = latencyNanos;
+            this.customEventsDone = customEventsDone;
+            this.eventCheck = new EventCheck(name, BenchmarkEvent.class.getSimpleName(), EventStatus.SUCCESS, "ok");
+        }
+
+        private void work() {
+            if (latencyNanos > 0) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public void beforeTest() {
+            work();
+        }
+
+        @Override
+        public void startTest() {
+            work();
+        }
+
+        @Override
+        public void afterTest() {
+            work();
+        }
+
+        @Override
+        public void keepAlive() {
+            work();
+        }
+
+        @Override
+        public void abortTest() {
+            work();
+        }
+
+        @Override
+        public EventCheck check() {
+            work();
+            return eventCheck;
+        }
+
+        @Override
+        public void customEvent(CustomEvent scheduleEvent) {
+            work();
+            customEventsDone.incrementAndGet();
+        }
+
+        @Override
+        public boolean isContinueOnKeepAliveParticipant() {
+            return false;
+        }
+
+        @Override
+        public boolean isReadyForStartParticipant() {
+            return false;
+        }
+    }
+}
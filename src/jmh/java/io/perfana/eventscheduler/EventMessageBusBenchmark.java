@@ -0,0 +1,106 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.message.EventMessage;
+import io.perfana.eventscheduler.api.message.EventMessageBus;
+import io.perfana.eventscheduler.api.message.EventMessageReceiver;
+import io.perfana.eventscheduler.log.EventLoggerDevNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures the send throughput of the message buses with one and with multiple sending threads,
+ * as happens when all events send messages at the start of a test.
+ * <br/>
+ * The "synchronized" bus type is the former EventMessageBusSimple with a synchronized receiver list, as baseline.
+ * The "async" bus type measures the cost for the sender only: delivery happens in the dispatch threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventMessageBusBenchmark {
+
+    @Param({"simple", "synchronized", "async"})
+    private String busType;
+
+    @Param({"1", "10"})
+    private int receiverCount;
+
+    private final EventMessage message = EventMessage.builder()
+        .pluginName("benchmark")
+        .message("benchmark message")
+        .variable("message-type", "benchmark")
+        .build();
+
+    private final LongAdder received = new LongAdder();
+
+    private EventMessageBus bus;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        switch (busType) {
+            case "synchronized":
+                bus = new EventMessageBusSynchronized();
+                break;
+            case "async":
+                bus = new EventMessageBusAsync(EventLoggerDevNull.INSTANCE);
+                break;
+            default:
+                bus = new EventMessageBusSimple();
+        }
+        for (int i = 0; i < receiverCount; i++) {
+            bus.addReceiver(m -> received.increment());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void sendSingleProducer() {
+        bus.send(message);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void sendMultiProducer() {
+        bus.send(message);
+    }
+
+    private static class EventMessageBusSynchronized implements EventMessageBus {
+
+        private final List<EventMessageReceiver> receivers = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void send(EventMessage message) {
+            receivers.forEach(r -> r.receive(message));
+        }
+
+        @Override
+        public void addReceiver(EventMessageReceiver eventMessageReceiver) {
+            receivers.add(eventMessageReceiver);
+        }
+    }
+}
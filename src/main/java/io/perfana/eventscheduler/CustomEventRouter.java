@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.Event;
+import io.perfana.eventscheduler.api.EventPhase;
+import net.jcip.annotations.Immutable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Index of the events per custom event name, built once from {@link Event#allowedCustomEvents()}.
+ * <br/>
+ * With routing, an event only gets the custom events it declares, or all custom events when it declares
+ * {@link Event#ALL_CUSTOM_EVENTS}. Without routing, all events get all custom events and
+ * allowedCustomEvents() is not called. Events that are skipped in the custom event phase by the
+ * {@link EventPhaseFilter} get no custom events.
+ */
+@Immutable
+final class CustomEventRouter {
+
+    private final boolean routing;
+    private final int[] allEventIndexes;
+    // event indexes that accept all custom events
+    private final int[] wildcardEventIndexes;
+    // event indexes per custom event name, including the wildcard event indexes, in event order
+    private final Map<String, int[]> eventIndexesByName;
+    // allowed custom event names per event index, null for all custom events
+    private final List<Set<String>> allowedNames;
+
+    private CustomEventRouter(List<Event> events, boolean routing, EventPhaseFilter phaseFilter) {
+        this.routing = routing;
+        this.allEventIndexes = phaseFilter.eventIndexes(EventPhase.CUSTOM_EVENT);
+        if (!routing) {
+            this.wildcardEventIndexes = allEventIndexes;
+            this.eventIndexesByName = Collections.emptyMap();
+            this.allowedNames = Collections.emptyList();
+            return;
+        }
+
+        List<Set<String>> names = new ArrayList<>(events.size());
+        Map<String, BitSet> eventsByName = new HashMap<>();
+        BitSet wildcardEvents = new BitSet(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            if (Arrays.binarySearch(allEventIndexes, i) < 0) {
+                names.add(Collections.emptySet());
+                continue;
+            }
+            Set<String> allowed = new HashSet<>(events.get(i).allowedCustomEvents());
+            if (allowed.contains(Event.ALL_CUSTOM_EVENTS)) {
+                wildcardEvents.set(i);
+                names.add(null);
+            }
+            else {
+                names.add(allowed);
+                int eventIndex = i;
+                allowed.forEach(name -> eventsByName.computeIfAbsent(name, key -> new BitSet()).set(eventIndex));
+            }
+        }
+        this.wildcardEventIndexes = wildcardEvents.stream().toArray();
+        this.eventIndexesByName = eventsByName.entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> {
+                BitSet eventIndexes = (BitSet) entry.getValue().clone();
+                eventIndexes.or(wildcardEvents);
+                return eventIndexes.stream().toArray();
+            }));
+        this.allowedNames = Collections.unmodifiableList(names);
+    }
+
+    static CustomEventRouter create(List<Event> events, boolean routing) {
+        return create(events, routing, EventPhaseFilter.create(events, false));
+    }
+
+    static CustomEventRouter create(List<Event> events, boolean routing, EventPhaseFilter phaseFilter) {
+        return new CustomEventRouter(events, routing, phaseFilter);
+    }
+
+    /**
+     * @return the indexes of the events that get the custom event, in event order
+     */
+    int[] eventIndexes(String customEventName) {
+        return routing ? eventIndexesByName.getOrDefault(customEventName, wildcardEventIndexes) : allEventIndexes;
+    }
+
+    /**
+     * @return the indexes of the events that get at least one custom event of the batch, in event order
+     */
+    int[] eventIndexes(List<CustomEvent> customEvents) {
+        if (!routing) {
+            return allEventIndexes;
+        }
+        BitSet eventIndexes = new BitSet();
+        for (CustomEvent customEvent : customEvents) {
+            for (int eventIndex : eventIndexes(customEvent.getName())) {
+                eventIndexes.set(eventIndex);
+            }
+        }
+        return eventIndexes.stream().toArray();
+    }
+
+    /**
+     * @return the custom events of the batch for the event, the same list if the event gets all
+     */
+    List<CustomEvent> customEvents(int eventIndex, List<CustomEvent> customEvents) {
+        Set<String> allowed = routing ? allowedNames.get(eventIndex) : null;
+        if (allowed == null) {
+            return customEvents;
+        }
+        return customEvents.stream()
+            .filter(customEvent -> allowed.contains(customEvent.getName()))
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks at a deadline, used to fire the custom events.
+ */
+interface CustomEventScheduler {
+
+    /**
+     * @param task the task to run
+     * @param deadlineNanos when to run the task, in System.nanoTime() terms
+     */
+    void schedule(Runnable task, long deadlineNanos);
+
+    /**
+     * Stop the scheduler, running tasks are interrupted.
+     * @return the tasks that did not run yet
+     */
+    List<Runnable> shutdownNow();
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException;
+}
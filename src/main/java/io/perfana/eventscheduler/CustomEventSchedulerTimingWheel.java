@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timing wheel: the wheel has a bucket per tick and a task is put in the bucket of its
+ * deadline tick, with the number of wheel rounds to wait. Inserting and expiring a task does not
+ * depend on the number of scheduled tasks, unlike the binary heap of a scheduled thread pool.
+ * <br/>
+ * One worker thread owns the wheel and advances it to the next bucket that has tasks, it parks in
+ * between instead of waking up each tick. New tasks are handed over via a concurrent queue and wake
+ * up the worker. Expired tasks run on a separate executor, so slow tasks do not delay the wheel.
+ * Tasks never run early, and at most one tick late when the worker is not delayed.
+ */
+class CustomEventSchedulerTimingWheel implements CustomEventScheduler {
+
+    private static final long WORKER_JOIN_TIMEOUT_MILLIS = 5000;
+
+    private final long tickNanos;
+    private final int mask;
+    private final List<List<Timeout>> wheel;
+    private final Queue<Timeout> newTimeouts = new ConcurrentLinkedQueue<>();
+    private final ExecutorService taskExecutor;
+    private final Thread worker;
+    private final long startNanos;
+
+    // number of tasks in the wheel, only used by the worker thread
+    private long wheelTaskCount = 0;
+    // set while the worker parks, so schedule only unparks a parked worker
+    private volatile boolean waiting = false;
+    private volatile boolean shutdown = false;
+
+    /**
+     * @param tickNanos duration of one tick, the resolution of the deadlines
+     * @param wheelSize number of buckets, rounded up to a power of two
+     * @param taskExecutor runs the expired tasks
+     * @param workerName name of the worker thread that advances the wheel
+     */
+    CustomEventSchedulerTimingWheel(long tickNanos, int wheelSize, ExecutorService taskExecutor, String workerName) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos should be larger than zero: " + tickNanos);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("wheelSize should be between 1 and 2^30: " + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize) == wheelSize ? wheelSize : Integer.highestOneBit(wheelSize) << 1;
+        this.tickNanos = tickNanos;
+        this.mask = size - 1;
+        this.wheel = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.taskExecutor = taskExecutor;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, workerName);
+        // a scheduler that is not shut down must not keep the jvm alive
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @Override
+    public void schedule(Runnable task, long deadlineNanos) {
+        if (shutdown) {
+            throw new RejectedExecutionException("timing wheel is shut down");
+        }
+        newTimeouts.add(new Timeout(task, deadlineNanos));
+        if (waiting) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        while (!shutdown) {
+            if (wheelTaskCount == 0 && newTimeouts.isEmpty()) {
+                waitForNewTimeouts();
+                // nothing in the wheel, so the ticks that passed while idle can be skipped
+                tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+                continue;
+            }
+            transferNewTimeouts(tick);
+            // the ticks of the empty buckets before it have nothing to expire
+            long nextTick = nextNonEmptyTick(tick);
+            if (!waitUntil(startNanos + (nextTick + 1) * tickNanos)) {
+                // woken up by a new task, that can be due before the next non-empty bucket
+                continue;
+            }
+            expireTimeouts(wheel.get((int) (nextTick & mask)));
+            tick = nextTick + 1;
+        }
+    }
+
+    /**
+     * Each non-empty bucket is visited once per round, so the remaining rounds of its tasks count down.
+     */
+    private long nextNonEmptyTick(long tick) {
+        for (int i = 0; i < wheel.size(); i++) {
+            if (!wheel.get((int) ((tick + i) & mask)).isEmpty()) {
+                return tick + i;
+            }
+        }
+        return tick;
+    }
+
+    private void waitForNewTimeouts() {
+        waiting = true;
+        // check again after setting waiting, to not miss the unpark of a concurrent schedule call
+        while (!shutdown && newTimeouts.isEmpty()) {
+            LockSupport.park(this);
+        }
+        waiting = false;
+    }
+
+    /**
+     * @return false when new tasks arrived or on shutdown, before the deadline
+     */
+    private boolean waitUntil(long deadlineNanos) {
+        waiting = true;
+        try {
+            long sleepNanos;
+            while (!shutdown && (sleepNanos = deadlineNanos - System.nanoTime()) > 0) {
+                if (!newTimeouts.isEmpty()) {
+                    return false;
+                }
+                LockSupport.parkNanos(this, sleepNanos);
+            }
+            return !shutdown;
+        } finally {
+            waiting = false;
+        }
+    }
+
+    private void transferNewTimeouts(long currentTick) {
+        Timeout timeout;
+        while ((timeout = newTimeouts.poll()) != null) {
+            long deadlineTick = Math.max(currentTick, (timeout.deadlineNanos - startNanos) / tickNanos);
+            timeout.remainingRounds = (deadlineTick - currentTick) / wheel.size();
+            wheel.get((int) (deadlineTick & mask)).add(timeout);
+            wheelTaskCount++;
+        }
+    }
+
+    private void expireTimeouts(List<Timeout> bucket) {
+        int remaining = 0;
+        for (int i = 0; i < bucket.size(); i++) {
+            Timeout timeout = bucket.get(i);
+            if (timeout.remainingRounds <= 0) {
+                wheelTaskCount--;
+                runTask(timeout.task);
+            }
+            else {
+                timeout.remainingRounds--;
+                bucket.set(remaining++, timeout);
+            }
+        }
+        bucket.subList(remaining, bucket.size()).clear();
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            taskExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            // executor is shut down, task is dropped
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        LockSupport.unpark(worker);
+        List<Runnable> notRun = new ArrayList<>();
+        try {
+            worker.join(WORKER_JOIN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!worker.isAlive()) {
+            // the worker has stopped, so it is safe to read the wheel from this thread
+            wheel.forEach(bucket -> bucket.forEach(timeout -> notRun.add(timeout.task)));
+            newTimeouts.forEach(timeout -> notRun.add(timeout.task));
+        }
+        notRun.addAll(taskExecutor.shutdownNow());
+        return notRun;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return taskExecutor.awaitTermination(timeout, unit);
+    }
+
+    private static final class Timeout {
+        private final Runnable task;
+        private final long deadlineNanos;
+        private long remainingRounds;
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+}
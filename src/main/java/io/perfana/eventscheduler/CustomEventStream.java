@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The custom events of a streaming event generator, pulled lazily by the event scheduler engine.
+ * <br/>
+ * The stream is opened by {@link #iterator()} and closed by {@link #close()}, which releases
+ * the source of the stream, such as an open file.
+ */
+@ThreadSafe
+class CustomEventStream implements Iterable<CustomEvent>, AutoCloseable {
+
+    private final Supplier<Stream<CustomEvent>> streamSupplier;
+    // guarded by this
+    private Stream<CustomEvent> stream;
+
+    CustomEventStream(Supplier<Stream<CustomEvent>> streamSupplier) {
+        this.streamSupplier = streamSupplier;
+    }
+
+    /**
+     * Closes the stream of the previous iterator, if any.
+     */
+    @Override
+    public synchronized Iterator<CustomEvent> iterator() {
+        close();
+        stream = streamSupplier.get();
+        return stream.iterator();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
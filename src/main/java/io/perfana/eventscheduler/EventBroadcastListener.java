@@ -0,0 +1,35 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.EventPhase;
+
+/**
+ * Listener for each call of a broadcaster to an event, for instance to journal the timing of the calls.
+ * <br/>
+ * Called in the thread of the event call, so implementations should be thread safe and fast.
+ */
+@FunctionalInterface
+public interface EventBroadcastListener {
+    /**
+     * @param eventName name of the called event
+     * @param phase the phase of the call
+     * @param startNanos System.nanoTime() at start of the call
+     * @param endNanos System.nanoTime() at end of the call
+     * @param failure the exception thrown by the call, null on success
+     */
+    void onCall(String eventName, EventPhase phase, long startNanos, long endNanos, Throwable failure);
+}
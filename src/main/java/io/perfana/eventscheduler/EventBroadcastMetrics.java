@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.Event;
+import io.perfana.eventscheduler.api.EventCallMetrics;
+import io.perfana.eventscheduler.api.EventPhase;
+import io.perfana.eventscheduler.util.LatencyHistogram;
+import net.jcip.annotations.ThreadSafe;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram per event and phase, for the broadcasters.
+ * <br/>
+ * Recorded per event index, the event names are only looked up when the metrics are read.
+ * The histograms are created on the first call of an event in a phase.
+ */
+@ThreadSafe
+public class EventBroadcastMetrics {
+
+    private static final EventPhase[] PHASES = EventPhase.values();
+
+    private final List<Event> events;
+    // per event index * phase count + phase ordinal
+    private final AtomicReferenceArray<CallMetrics> callMetrics;
+
+    private static final class CallMetrics {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errorCount = new LongAdder();
+    }
+
+    public EventBroadcastMetrics(List<Event> events) {
+        this.events = events;
+        this.callMetrics = new AtomicReferenceArray<>(events.size() * PHASES.length);
+    }
+
+    public void recordCall(int eventIndex, EventPhase phase, long durationNanos) {
+        metrics(eventIndex, phase).latency.record(durationNanos);
+    }
+
+    public void recordError(int eventIndex, EventPhase phase) {
+        metrics(eventIndex, phase).errorCount.increment();
+    }
+
+    private CallMetrics metrics(int eventIndex, EventPhase phase) {
+        int index = eventIndex * PHASES.length + phase.ordinal();
+        CallMetrics metrics = callMetrics.get(index);
+        if (metrics == null) {
+            CallMetrics newMetrics = new CallMetrics();
+            metrics = callMetrics.compareAndSet(index, null, newMetrics) ? newMetrics : callMetrics.get(index);
+        }
+        return metrics;
+    }
+
+    /**
+     * @return metrics of the events and phases with calls, in order of event and phase
+     */
+    public List<EventCallMetrics> snapshot() {
+        List<EventCallMetrics> snapshot = new ArrayList<>();
+        for (int eventIndex = 0; eventIndex < events.size(); eventIndex++) {
+            String eventName = null;
+            for (EventPhase phase : PHASES) {
+                CallMetrics metrics = callMetrics.get(eventIndex * PHASES.length + phase.ordinal());
+                if (metrics == null) {
+                    continue;
+                }
+                if (eventName == null) {
+                    eventName = events.get(eventIndex).getName();
+                }
+                LatencyHistogram latency = metrics.latency;
+                snapshot.add(EventCallMetrics.builder()
+                    .eventName(eventName)
+                    .phase(phase)
+                    .callCount(latency.getCount())
+                    .errorCount(metrics.errorCount.sum())
+                    .mean(Duration.ofNanos(latency.getMeanNanos()))
+                    .p50(Duration.ofNanos(latency.getValueAtPercentile(50)))
+                    .p90(Duration.ofNanos(latency.getValueAtPercentile(90)))
+                    .p99(Duration.ofNanos(latency.getValueAtPercentile(99)))
+                    .max(Duration.ofNanos(latency.getMaxNanos()))
+                    .build());
+            }
+        }
+        return snapshot;
+    }
+}
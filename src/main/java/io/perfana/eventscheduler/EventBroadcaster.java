@@ -16,6 +16,7 @@
 package io.perfana.eventscheduler;
 
 import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.EventCallMetrics;
 import io.perfana.eventscheduler.api.EventCheck;
 import io.perfana.eventscheduler.api.EventLogger;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
@@ -23,6 +24,7 @@ import io.perfana.eventscheduler.exception.handler.AbortSchedulerException;
 import io.perfana.eventscheduler.exception.handler.KillSwitchException;
 import io.perfana.eventscheduler.exception.handler.StopTestRunException;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Queue;
 
@@ -40,11 +42,42 @@ public interface EventBroadcaster {
 
     void broadcastCustomEvent(CustomEvent event);
 
+    /**
+     * Broadcast custom events that are scheduled at the same time as one batch: one call per event for all custom events.
+     * Default implementation broadcasts the custom events one by one.
+     */
+    default void broadcastCustomEvents(List<CustomEvent> events) {
+        events.forEach(this::broadcastCustomEvent);
+    }
+
     List<EventCheck> broadcastCheck();
 
     void shutdownAndWaitAllTasksDone(long timeoutSeconds);
 
+    /**
+     * Listen to all calls to the events. Set before the first broadcast.
+     * Broadcasters that do not support a listener ignore it.
+     * @param listener the listener, null to remove the listener
+     */
+    default void setBroadcastListener(EventBroadcastListener listener) {
+        // no listener support by default
+    }
+
+    /**
+     * @return call count, error count and latencies per event and phase, empty if not supported
+     */
+    default List<EventCallMetrics> getCallMetrics() {
+        return Collections.emptyList();
+    }
+
     default void throwAbortOrKillWitchOrStopTestRunException(Queue<Throwable> exceptions, int stopTestExceptionCount, EventLogger logger) {
+        throwAbortOrKillWitchOrStopTestRunException(exceptions, 0, stopTestExceptionCount, logger);
+    }
+
+    /**
+     * @param stopTestRunVotes number of stop test run results of KeepAliveResultEvents, counted on top of the StopTestRunExceptions
+     */
+    default void throwAbortOrKillWitchOrStopTestRunException(Queue<Throwable> exceptions, int stopTestRunVotes, int stopTestExceptionCount, EventLogger logger) {
         exceptions.stream()
             .filter(AbortSchedulerException.class::isInstance)
             .findFirst()
@@ -59,7 +92,7 @@ public interface EventBroadcaster {
                 throw new KillSwitchException("Found kill switch request during keep-alive broadcast: " + kill.getMessage());
             });
 
-        long currentStopRunExceptionCount = exceptions.stream()
+        long currentStopRunExceptionCount = stopTestRunVotes + exceptions.stream()
                 .filter(StopTestRunException.class::isInstance)
                 .count();
         if (stopTestExceptionCount > 0) {
@@ -16,30 +16,83 @@
 package io.perfana.eventscheduler;
 
 import io.perfana.eventscheduler.api.*;
+import io.perfana.eventscheduler.api.config.EventContext;
+import io.perfana.eventscheduler.api.config.EventSchedulerContext;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import io.perfana.eventscheduler.exception.handler.AbortSchedulerException;
+import io.perfana.eventscheduler.exception.handler.KillSwitchException;
 import io.perfana.eventscheduler.exception.handler.SchedulerHandlerException;
 import io.perfana.eventscheduler.log.EventLoggerDevNull;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Calls all events in an async manner to avoid the main broadcast thread
  * from being blocked.
+ *
+ * Each event call has a timeout per phase, a call that takes longer is reported as a
+ * failure of that event only. The timeouts come from the event scheduler context and can
+ * be overridden per event in the event contexts.
+ *
+ * With serial calls per event enabled, each event gets its own lane on the shared executor:
+ * the calls to one event run one by one in broadcast order, the calls to different events run in parallel.
+ * The timeout of a call then includes the time it waits for the earlier calls of the same event.
+ * At most one keep alive call per event waits in its lane: while it waits, the next keep alives skip that event.
+ *
+ * With keep alive fail fast enabled, the first kill switch or abort request ends the keep alive broadcast:
+ * the keep alive calls that did not start yet are cancelled and the running calls are interrupted.
+ *
+ * The keep alive broadcast reuses its calls, failure slots and latch, see {@link KeepAliveTick}.
  */
 public class EventBroadcasterAsync implements EventBroadcaster {
 
     protected static final int ALL_CALLS_TIME_OUT_SECONDS = 300;
+    // the custom event bulkheads are off by default: no limit on concurrent calls
+    static final int DEFAULT_CUSTOM_EVENT_MAX_CONCURRENT_CALLS_PER_EVENT = 0;
+    static final int DEFAULT_CUSTOM_EVENT_MAX_QUEUED_CALLS_PER_EVENT = 100;
+    static final int DEFAULT_CUSTOM_EVENT_MAX_CONCURRENT_CALLS = 0;
+    // extra wait time on top of the largest call timeout, the calls themselves time out first
+    private static final long WAIT_MARGIN_MILLIS = 1000;
+    private static final EventPhase[] PHASES = EventPhase.values();
+
     private final ExecutorService executor;
+    // executor per event index: the shared executor or a serial lane on the shared executor
+    private final Executor[] eventExecutors;
     private final List<Event> events;
     private final EventLogger logger;
     private final int continueTestRunParticipantsCount;
-
-    EventBroadcasterAsync(Collection<Event> events, EventLogger logger, ExecutorService executor) {
+    // timeout in millis per event index and phase ordinal
+    private final long[][] timeoutMillis;
+    // max of the timeouts of all events per phase ordinal
+    private final long[] maxTimeoutMillis;
+
+    private final EventBroadcastMetrics metrics;
+    // limit the concurrent custom event calls per event index, null when there are no limits
+    private final EventBulkhead[] customEventBulkheads;
+    private final EventBulkhead.SharedPermits customEventPermits;
+    private final EventPhaseFilter phaseFilter;
+    private final CustomEventRouter customEventRouter;
+    private final boolean keepAliveFailFast;
+    private final KeepAliveTick keepAliveTick;
+    // 1 while a keep alive call of the event index waits in its serial lane
+    private final AtomicIntegerArray keepAliveQueued;
+
+    private volatile EventBroadcastListener listener;
+    // event names per event index, only looked up when a listener is set
+    private volatile String[] eventNames;
+
+    EventBroadcasterAsync(Collection<Event> events, EventLogger logger, ExecutorService executor, EventSchedulerContext context) {
         this.events = events == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(events));
         this.logger = logger == null ? EventLoggerDevNull.INSTANCE : logger;
         ThreadFactory threadFactory = new ThreadFactory() {
@@ -49,13 +102,90 @@ public class EventBroadcasterAsync implements EventBroadcaster {
             }
         };
         this.executor = executor == null ? Executors.newCachedThreadPool(threadFactory) : executor;
+        this.eventExecutors = createEventExecutors(this.events.size(), this.executor, context != null && context.isSerialCallsPerEventEnabled());
         this.continueTestRunParticipantsCount = (int) this.events.stream().filter(Event::isContinueOnKeepAliveParticipant).count();
+        this.timeoutMillis = createTimeouts(this.events, context);
+        this.metrics = new EventBroadcastMetrics(this.events);
+        int maxConcurrentCustomEventCalls = context == null ? DEFAULT_CUSTOM_EVENT_MAX_CONCURRENT_CALLS : context.getCustomEventMaxConcurrentCalls();
+        this.customEventPermits = new EventBulkhead.SharedPermits(maxConcurrentCustomEventCalls);
+        this.customEventBulkheads = createCustomEventBulkheads(this.events.size(), context, maxConcurrentCustomEventCalls, customEventPermits);
+        this.phaseFilter = EventPhaseFilter.create(this.events, context == null || context.isSkipNotImplementedCallsEnabled());
+        this.customEventRouter = CustomEventRouter.create(this.events, context != null && context.isCustomEventRoutingEnabled(), phaseFilter);
+        this.keepAliveFailFast = context != null && context.isKeepAliveFailFastEnabled();
+        this.maxTimeoutMillis = new long[PHASES.length];
+        for (long[] eventTimeouts : timeoutMillis) {
+            for (int phase = 0; phase < PHASES.length; phase++) {
+                maxTimeoutMillis[phase] = Math.max(maxTimeoutMillis[phase], eventTimeouts[phase]);
+            }
+        }
+        this.keepAliveTick = new KeepAliveTick(phaseFilter.eventIndexes(EventPhase.KEEP_ALIVE));
+        this.keepAliveQueued = new AtomicIntegerArray(this.events.size());
+    }
+
+    EventBroadcasterAsync(Collection<Event> events, EventLogger logger, ExecutorService executor) {
+        this(events, logger, executor, null);
     }
 
     public EventBroadcasterAsync(Collection<Event> events, EventLogger eventLogger) {
         this(events, eventLogger, null);
     }
 
+    private static Executor[] createEventExecutors(int eventCount, ExecutorService executor, boolean serialCallsPerEvent) {
+        Executor[] eventExecutors = new Executor[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            eventExecutors[i] = serialCallsPerEvent ? new EventSerialLane(executor) : executor;
+        }
+        return eventExecutors;
+    }
+
+    /**
+     * @return null when the number of concurrent calls is not limited per event nor for all events
+     */
+    private static EventBulkhead[] createCustomEventBulkheads(int eventCount, EventSchedulerContext context,
+                                                              int maxConcurrent, EventBulkhead.SharedPermits sharedPermits) {
+        int maxConcurrentPerEvent = context == null ? DEFAULT_CUSTOM_EVENT_MAX_CONCURRENT_CALLS_PER_EVENT : context.getCustomEventMaxConcurrentCallsPerEvent();
+        int maxQueuedPerEvent = context == null ? DEFAULT_CUSTOM_EVENT_MAX_QUEUED_CALLS_PER_EVENT : context.getCustomEventMaxQueuedCallsPerEvent();
+        BulkheadOverflowPolicy overflowPolicy = context == null ? BulkheadOverflowPolicy.REJECT : context.getCustomEventOverflowPolicy();
+        if (maxConcurrentPerEvent <= 0 && maxConcurrent <= 0) {
+            return null;
+        }
+
+        EventBulkhead[] bulkheads = new EventBulkhead[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            bulkheads[i] = new EventBulkhead(maxConcurrentPerEvent, maxQueuedPerEvent, overflowPolicy, sharedPermits);
+        }
+        return bulkheads;
+    }
+
+    /**
+     * Event names are only looked up when there are timeouts configured per event.
+     */
+    private static long[][] createTimeouts(List<Event> events, EventSchedulerContext context) {
+        Map<EventPhase, Duration> phaseTimeouts = context == null ? Collections.emptyMap() : context.getPhaseTimeouts();
+        long[] defaultTimeouts = new long[PHASES.length];
+        for (EventPhase phase : PHASES) {
+            defaultTimeouts[phase.ordinal()] = phaseTimeouts.getOrDefault(phase, Duration.ofSeconds(ALL_CALLS_TIME_OUT_SECONDS)).toMillis();
+        }
+
+        Map<String, Map<EventPhase, Duration>> timeoutsByEventName = context == null ? Collections.emptyMap() : context.getEventContexts().stream()
+            .filter(eventContext -> !eventContext.getPhaseTimeouts().isEmpty())
+            .collect(Collectors.toMap(EventContext::getName, EventContext::getPhaseTimeouts, (first, second) -> first));
+
+        long[][] timeouts = new long[events.size()][];
+        for (int i = 0; i < events.size(); i++) {
+            Map<EventPhase, Duration> overrides = timeoutsByEventName.isEmpty() ? null : timeoutsByEventName.get(events.get(i).getName());
+            if (overrides == null) {
+                timeouts[i] = defaultTimeouts;
+            }
+            else {
+                long[] eventTimeouts = defaultTimeouts.clone();
+                overrides.forEach((phase, timeout) -> eventTimeouts[phase.ordinal()] = timeout.toMillis());
+                timeouts[i] = eventTimeouts;
+            }
+        }
+        return timeouts;
+    }
+
     /**
      * The before test calls of all events will run in parallel, but this method will wait for
      * all events to finish before returning.
@@ -66,60 +196,15 @@ public class EventBroadcasterAsync implements EventBroadcaster {
     @Override
     public void broadcastBeforeTest() {
         logger.info("broadcast before test event");
-
-        CompletableFuture<?>[] cfs = this.events.stream()
-                .map(e -> CompletableFuture.runAsync(e::beforeTest, executor)
-                        .exceptionally(printError(e)))
-                .toArray(CompletableFuture<?>[]::new);
-
-        CompletableFuture<Void> allBeforeTests = CompletableFuture.allOf(cfs)
-                .exceptionally(t -> {
-                    logger.warn("There was an exception calling a before test: " + t.getMessage());
-                    return null;
-                });
-
         // block until 'all before' tasks are finished, only then proceed to run test
-        try {
-            allBeforeTests.get(ALL_CALLS_TIME_OUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            logger.warn("got interrupt waiting for all 'before test' calls to finish, " +
-                    "not all call may have been finished");
-        } catch (ExecutionException e) {
-            throw new EventSchedulerRuntimeException(
-                    "waiting for all 'before test' calls failed", e);
-        } catch (TimeoutException e) {
-            logger.warn("waited for " + ALL_CALLS_TIME_OUT_SECONDS + " seconds, got timeout waiting, " +
-                    "'before test' tasks might still be running?");
-        }
+        callAllAndWait(EventPhase.BEFORE_TEST, Event::beforeTest, null);
     }
 
     @Override
     public void broadcastStartTest() {
         logger.info("broadcast start test event");
-
-        Stream<CompletableFuture<Void>> cfs = this.events.stream()
-            .map(e -> CompletableFuture.runAsync(e::startTest, executor)
-                .exceptionally(printError(e)));
-
-        CompletableFuture<Void> allStartTests = CompletableFuture.allOf(cfs.toArray(CompletableFuture[]::new))
-            .exceptionally(t -> {
-                logger.warn("There was an exception calling a before test: " + t.getMessage());
-                return null;
-            });
-
         // block until all 'start tests' tasks are finished, only then proceed to run test
-        try {
-            allStartTests.get(ALL_CALLS_TIME_OUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            logger.warn("got interrupt waiting for all 'after test' calls to finish, " +
-                "not all call may have been finished");
-        } catch (ExecutionException e) {
-            throw new EventSchedulerRuntimeException(
-                "waiting for all 'after test' calls failed", e);
-        } catch (TimeoutException e) {
-            logger.warn("waited for " + ALL_CALLS_TIME_OUT_SECONDS + " seconds, got timeout waiting, " +
-                "'after test' tasks might still be running?");
-        }
+        callAllAndWait(EventPhase.START_TEST, Event::startTest, null);
     }
 
     /**
@@ -132,61 +217,26 @@ public class EventBroadcasterAsync implements EventBroadcaster {
     @Override
     public void broadcastAfterTest() {
         logger.info("broadcast after test event");
-        
-        Stream<CompletableFuture<Void>> cfs = this.events.stream()
-                .map(e -> CompletableFuture.runAsync(e::afterTest, executor)
-                        .exceptionally(printError(e)));
-
-        CompletableFuture<Void> allAfterTests = CompletableFuture.allOf(cfs.toArray(CompletableFuture[]::new))
-                .exceptionally(t -> {
-                    logger.warn("There was an exception calling a before test: " + t.getMessage());
-                    return null;
-                });
-
-        // block until all 'after tests' tasks are finished, only then proceed to run test
-        try {
-            allAfterTests.get(ALL_CALLS_TIME_OUT_SECONDS, TimeUnit.SECONDS);
-            logger.info("All 'after test' calls finished");
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("got interrupt waiting for all 'after test' calls to finish, " +
-                    "not all call may have been finished");
-        } catch (ExecutionException e) {
-            throw new EventSchedulerRuntimeException(
-                    "waiting for all 'after test' calls failed", e);
-        } catch (TimeoutException e) {
-            logger.warn("waited for " + ALL_CALLS_TIME_OUT_SECONDS + " seconds, got timeout waiting, " +
-                    "'after test' tasks might still be running?");
-        }
+        callAllAndWait(EventPhase.AFTER_TEST, Event::afterTest, null);
+        logger.info("All 'after test' calls finished");
     }
 
     @Override
     public void broadcastKeepAlive() {
         logger.debug("broadcast keep alive event");
 
-        Queue<Throwable> exceptions = new ConcurrentLinkedQueue<>();
-
-        Stream<CompletableFuture<Void>> cfs = this.events.stream()
-                .map(e -> CompletableFuture.runAsync(e::keepAlive, executor)
-                        .exceptionally(printError(e, exceptions)));
+        if (!keepAliveFailFast && keepAliveTick.broadcast()) {
+            return;
+        }
 
-        CompletableFuture<Void> allKeepAlives = CompletableFuture.allOf(cfs.toArray(CompletableFuture[]::new));
+        Queue<Throwable> exceptions = new ConcurrentLinkedQueue<>();
+        AtomicInteger stopTestRunVotes = new AtomicInteger();
 
         // block until all 'keep alive' tasks are finished, then check if KillSwitchException is present
-        try {
-            allKeepAlives.get(ALL_CALLS_TIME_OUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            logger.warn("got interrupt waiting for all 'keep alive' calls to finish, " +
-                    "not all call may have been finished");
-        } catch (ExecutionException e) {
-            throw new EventSchedulerRuntimeException(
-                    "waiting for all 'keep alive' calls failed", e);
-        } catch (TimeoutException e) {
-            logger.warn("waited for " + ALL_CALLS_TIME_OUT_SECONDS + " seconds, got timeout waiting for " +
-                    "'keep alive' tasks");
-        }
-        logger.debug("Keep Alive found exceptions: " + exceptions);
-        throwAbortOrKillWitchOrStopTestRunException(exceptions, continueTestRunParticipantsCount, logger);
+        callAllAndWait(EventPhase.KEEP_ALIVE, event -> KeepAliveCall.callKeepAlive(event, stopTestRunVotes), exceptions, keepAliveFailFast);
+
+        logger.debugLazy(() -> "Keep Alive found exceptions: " + exceptions + " and stop test run votes: " + stopTestRunVotes);
+        throwAbortOrKillWitchOrStopTestRunException(exceptions, stopTestRunVotes.get(), continueTestRunParticipantsCount, logger);
     }
 
     /**
@@ -196,49 +246,107 @@ public class EventBroadcasterAsync implements EventBroadcaster {
     @Override
     public void broadcastAbortTest() {
         logger.debug("broadcast abort test event");
+        callAllAndWait(EventPhase.ABORT_TEST, Event::abortTest, null);
+        executor.shutdown();
+    }
 
-        Stream<CompletableFuture<Void>> cfs = this.events.stream()
-                .map(e -> CompletableFuture.runAsync(e::abortTest, executor)
-                        .exceptionally(printError(e)));
+    /**
+     * Does not wait for the custom event calls to finish. The calls per event go through a bulkhead:
+     * calls to an event that has the max number of calls in flight are queued, or rejected when the queue is full.
+     */
+    @Override
+    public void broadcastCustomEvent(CustomEvent scheduleEvent) {
+        logger.info("broadcast " + scheduleEvent.getName() + " custom event");
+        submitCustomEventCalls(scheduleEvent.getName(), customEventRouter.eventIndexes(scheduleEvent.getName()),
+            (event, eventIndex) -> event.customEvent(scheduleEvent));
+    }
 
-        CompletableFuture<Void> allAbortTests = CompletableFuture.allOf(cfs.toArray(CompletableFuture[]::new))
-                .exceptionally(t -> {
-                    logger.warn("There was an exception calling an abort test: " + t.getMessage());
-                    return null;
-                });
+    /**
+     * One call per event for the whole batch, the batch goes through the bulkhead as one call.
+     */
+    @Override
+    public void broadcastCustomEvents(List<CustomEvent> scheduleEvents) {
+        String names = scheduleEvents.stream().map(CustomEvent::getName).collect(Collectors.joining(","));
+        logger.info("broadcast batch of " + scheduleEvents.size() + " custom events: " + names);
+        submitCustomEventCalls(names, customEventRouter.eventIndexes(scheduleEvents),
+            (event, eventIndex) -> callCustomEvents(event, customEventRouter.customEvents(eventIndex, scheduleEvents)));
+    }
 
-        // block until all 'abort tests' tasks are finished
-        try {
-            allAbortTests.get(ALL_CALLS_TIME_OUT_SECONDS, TimeUnit.SECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            logger.warn("got interrupt waiting for all 'abort test' calls to finish, " +
-                    "not all call may have been finished");
-        } catch (ExecutionException e) {
-            throw new EventSchedulerRuntimeException(
-                    "waiting for all 'abort test' calls failed", e);
-        } catch (TimeoutException e) {
-            logger.warn("waited for " + ALL_CALLS_TIME_OUT_SECONDS + " seconds, got timeout waiting, " +
-                    "'abort test' tasks might still be running?");
+    private static void callCustomEvents(Event event, List<CustomEvent> scheduleEvents) {
+        if (scheduleEvents.size() == 1) {
+            event.customEvent(scheduleEvents.get(0));
+        }
+        else {
+            event.customEvents(scheduleEvents);
         }
+    }
 
-        executor.shutdown();
+    private void submitCustomEventCalls(String name, int[] eventIndexes, ObjIntConsumer<Event> call) {
+        if (eventIndexes.length == 0) {
+            logger.debugLazy(() -> "no events allow custom event '" + name + "'");
+        }
+        for (int eventIndex : eventIndexes) {
+            Event event = events.get(eventIndex);
+            if (customEventBulkheads == null) {
+                startCustomEventCall(eventIndex, () -> call.accept(event, eventIndex));
+                continue;
+            }
+            EventBulkhead.Admission admission = customEventBulkheads[eventIndex].submit(name,
+                () -> startCustomEventCall(eventIndex, () -> call.accept(event, eventIndex)));
+            if (admission == EventBulkhead.Admission.REJECTED) {
+                logger.warn("custom event '" + name + "' rejected for event '" + event.getName()
+                    + "': too many calls in flight and queue is full");
+            }
+            else if (admission == EventBulkhead.Admission.COALESCED) {
+                logger.info("custom event '" + name + "' coalesced for event '" + event.getName()
+                    + "': same custom event is already queued");
+            }
+        }
     }
 
-    @Override
-    public void broadcastCustomEvent(CustomEvent scheduleEvent) {
-        logger.info("broadcast " + scheduleEvent.getName() + " custom event");
-        this.events.forEach(e -> CompletableFuture.runAsync(() -> e.customEvent(scheduleEvent), executor)
-                .exceptionally(printError(e)));
+    private void startCustomEventCall(int eventIndex, Runnable call) {
+        Event event = events.get(eventIndex);
+        Runnable bulkheadCall = () -> {
+            try {
+                call.run();
+            } finally {
+                customEventCallDone(eventIndex);
+            }
+        };
+        try {
+            CompletableFuture.runAsync(instrumented(eventIndex, EventPhase.CUSTOM_EVENT, bulkheadCall), eventExecutors[eventIndex])
+                .orTimeout(timeoutMillis[eventIndex][EventPhase.CUSTOM_EVENT.ordinal()], TimeUnit.MILLISECONDS)
+                .exceptionally(printError(event, eventIndex, EventPhase.CUSTOM_EVENT, null));
+        } catch (RejectedExecutionException e) {
+            logger.warn("custom event call not started, broadcaster is shut down");
+            customEventCallDone(eventIndex);
+        }
+    }
+
+    /**
+     * The bulkhead permit is released when the call is finished, so a hanging
+     * event keeps its permits and cannot pile up more calls.
+     */
+    private void customEventCallDone(int eventIndex) {
+        if (customEventBulkheads == null) {
+            return;
+        }
+        customEventBulkheads[eventIndex].callDone();
+        // the released shared permit can start queued calls of the events that wait for a permit
+        customEventPermits.wakeUpWaiting();
     }
 
     @Override
     public List<EventCheck> broadcastCheck() {
         logger.info("broadcast check test");
 
-        List<CompletableFuture<EventCheck>> eventChecks = events.stream()
-                .map(e -> CompletableFuture.supplyAsync(e::check, executor).exceptionally(getFailureEventCheck(e)))
-                .collect(Collectors.toList());
+        List<CompletableFuture<EventCheck>> eventChecks = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            Event event = events.get(i);
+            eventChecks.add(CompletableFuture.supplyAsync(instrumented(i, EventPhase.CHECK, event::check), eventExecutors[i])
+                .orTimeout(timeoutMillis[i][EventPhase.CHECK.ordinal()], TimeUnit.MILLISECONDS)
+                .exceptionally(getFailureEventCheck(event, i)));
+        }
 
         CompletableFuture<?>[] cfs = eventChecks.toArray(new CompletableFuture<?>[0]);
 
@@ -253,7 +361,7 @@ public class EventBroadcasterAsync implements EventBroadcaster {
                         .collect(Collectors.toList()));
 
         try {
-            return listCompletableFuture.get(ALL_CALLS_TIME_OUT_SECONDS, TimeUnit.SECONDS);
+            return listCompletableFuture.get(waitMillis(EventPhase.CHECK), TimeUnit.MILLISECONDS);
         } catch (ExecutionException | TimeoutException e) {
             throw new EventSchedulerRuntimeException("get event checks error", e);
         } catch (InterruptedException e) {
@@ -263,6 +371,164 @@ public class EventBroadcasterAsync implements EventBroadcaster {
 
     }
 
+    private void callAllAndWait(EventPhase phase, Consumer<Event> call, Queue<Throwable> errors) {
+        callAllAndWait(phase, call, errors, false);
+    }
+
+    /**
+     * Calls all events that implement the phase in parallel and blocks until all calls are finished or timed out.
+     * With fail fast, blocks until the first kill switch or abort request, then cancels the calls that are not done.
+     */
+    private void callAllAndWait(EventPhase phase, Consumer<Event> call, Queue<Throwable> errors, boolean failFast) {
+        int[] eventIndexes = phaseFilter.eventIndexes(phase);
+        if (eventIndexes.length == 0) {
+            return;
+        }
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[eventIndexes.length];
+        InterruptibleCall[] interruptibleCalls = failFast ? new InterruptibleCall[eventIndexes.length] : null;
+        CompletableFuture<Void> killOrAbort = new CompletableFuture<>();
+        CompletableFuture<?>[] cfs = new CompletableFuture<?>[eventIndexes.length];
+        for (int c = 0; c < eventIndexes.length; c++) {
+            int i = eventIndexes[c];
+            Event event = events.get(i);
+            Executor eventExecutor = eventExecutors[i];
+            if (phase == EventPhase.KEEP_ALIVE && eventExecutor instanceof EventSerialLane) {
+                if (!keepAliveQueued.compareAndSet(i, 0, 1)) {
+                    metrics.recordError(i, phase);
+                    logger.warn("Event keep alive in '" + event.getName() + "' not called: previous keep alive call is still waiting for an earlier call");
+                    calls[c] = CompletableFuture.completedFuture(null);
+                    cfs[c] = calls[c];
+                    continue;
+                }
+                eventExecutor = keepAliveLane(i, eventExecutor);
+            }
+            Runnable task = instrumented(i, phase, () -> call.accept(event));
+            if (failFast) {
+                interruptibleCalls[c] = new InterruptibleCall(task);
+                task = interruptibleCalls[c];
+            }
+            calls[c] = CompletableFuture.runAsync(task, eventExecutor)
+                .orTimeout(timeoutMillis[i][phase.ordinal()], TimeUnit.MILLISECONDS);
+            cfs[c] = calls[c].exceptionally(t -> {
+                dealWithErrors(event, i, phase, errors, t);
+                if (failFast && isKillOrAbort(unwrap(t))) {
+                    killOrAbort.complete(null);
+                }
+                return null;
+            });
+        }
+
+        long waitMillis = waitMillis(phase);
+        try {
+            CompletableFuture<?> allDone = CompletableFuture.allOf(cfs);
+            (failFast ? CompletableFuture.anyOf(allDone, killOrAbort) : allDone).get(waitMillis, TimeUnit.MILLISECONDS);
+            if (killOrAbort.isDone()) {
+                cancelCalls(phase, calls, interruptibleCalls);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("got interrupt waiting for all '" + phase.getDescription() + "' calls to finish, " +
+                    "not all call may have been finished");
+        } catch (ExecutionException e) {
+            throw new EventSchedulerRuntimeException(
+                    "waiting for all '" + phase.getDescription() + "' calls failed", e);
+        } catch (TimeoutException e) {
+            logger.warn("waited for " + waitMillis + " millis, got timeout waiting, " +
+                    "'" + phase.getDescription() + "' tasks might still be running?");
+        }
+    }
+
+    /**
+     * The keep alive call leaves the lane when it starts, also when it timed out and is not called anymore.
+     */
+    private Executor keepAliveLane(int eventIndex, Executor lane) {
+        return task -> {
+            try {
+                lane.execute(() -> {
+                    keepAliveQueued.set(eventIndex, 0);
+                    task.run();
+                });
+            } catch (RejectedExecutionException e) {
+                keepAliveQueued.set(eventIndex, 0);
+                throw e;
+            }
+        };
+    }
+
+    private void cancelCalls(EventPhase phase, CompletableFuture<?>[] calls, InterruptibleCall[] interruptibleCalls) {
+        int cancelCount = 0;
+        for (int c = 0; c < calls.length; c++) {
+            // a call that did not start yet will not run, a running call is interrupted
+            if (calls[c].cancel(true)) {
+                interruptibleCalls[c].interrupt();
+                cancelCount++;
+            }
+        }
+        int cancelled = cancelCount;
+        logger.infoLazy(() -> "kill switch or abort requested, cancelled " + cancelled + " '" + phase.getDescription() + "' calls");
+    }
+
+    private static boolean isKillOrAbort(Throwable t) {
+        return t instanceof KillSwitchException || t instanceof AbortSchedulerException;
+    }
+
+    @Override
+    public void setBroadcastListener(EventBroadcastListener listener) {
+        this.eventNames = events.stream().map(Event::getName).toArray(String[]::new);
+        this.listener = listener;
+    }
+
+    @Override
+    public List<EventCallMetrics> getCallMetrics() {
+        return metrics.snapshot();
+    }
+
+    private Runnable instrumented(int eventIndex, EventPhase phase, Runnable call) {
+        return () -> {
+            long startNanos = System.nanoTime();
+            Throwable failure = null;
+            try {
+                call.run();
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                callDone(eventIndex, phase, startNanos, failure);
+            }
+        };
+    }
+
+    private <T> Supplier<T> instrumented(int eventIndex, EventPhase phase, Supplier<T> call) {
+        return () -> {
+            long startNanos = System.nanoTime();
+            Throwable failure = null;
+            try {
+                return call.get();
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                callDone(eventIndex, phase, startNanos, failure);
+            }
+        };
+    }
+
+    /**
+     * Errors are counted in dealWithErrors, which also sees the timeouts.
+     */
+    private void callDone(int eventIndex, EventPhase phase, long startNanos, Throwable failure) {
+        long endNanos = System.nanoTime();
+        metrics.recordCall(eventIndex, phase, endNanos - startNanos);
+        EventBroadcastListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.onCall(eventNames[eventIndex], phase, startNanos, endNanos, failure);
+        }
+    }
+
+    private long waitMillis(EventPhase phase) {
+        return maxTimeoutMillis[phase.ordinal()] + WAIT_MARGIN_MILLIS;
+    }
+
     @Override
     public void shutdownAndWaitAllTasksDone(long timeoutSeconds) {
         logger.info("shutdown broadcaster, waiting up to " + timeoutSeconds + " seconds for tasks to finish");
@@ -279,25 +545,39 @@ public class EventBroadcasterAsync implements EventBroadcaster {
         logger.info("shutdown broadcaster done.");
     }
 
-    private Function<Throwable, EventCheck> getFailureEventCheck(Event e) {
+    private Function<Throwable, EventCheck> getFailureEventCheck(Event e, int eventIndex) {
         return t -> {
-            EventCheck eventCheck = new EventCheck(e.getName(), e.getClass().getSimpleName(), EventStatus.FAILURE, "Failed to produce an event check! " + t.getMessage());
-            logger.error("Error during check: " + eventCheck, t);
+            Throwable cause = unwrap(t);
+            metrics.recordError(eventIndex, EventPhase.CHECK);
+            String message = cause instanceof TimeoutException
+                ? "Event check timed out!"
+                : "Failed to produce an event check! " + cause.getMessage();
+            EventCheck eventCheck = new EventCheck(e.getName(), e.getClass().getSimpleName(), EventStatus.FAILURE, message);
+            logger.error("Error during check: " + eventCheck, cause);
             return eventCheck;
         };
     }
 
-    private Function<Throwable, Void> printError(Event e, Queue<Throwable> errors) {
-        return t -> dealWithErrors(e, errors, t);
+    private Function<Throwable, Void> printError(Event e, int eventIndex, EventPhase phase, Queue<Throwable> errors) {
+        return t -> dealWithErrors(e, eventIndex, phase, errors, t);
     }
 
-    private Void dealWithErrors(Event e, Queue<Throwable> errors, Throwable t) {
-        // t is CompletionException, so get inner cause
-        Throwable cause = t.getCause();
+    private Void dealWithErrors(Event e, int eventIndex, EventPhase phase, Queue<Throwable> errors, Throwable t) {
+        Throwable cause = unwrap(t);
         if (cause instanceof SchedulerHandlerException) {
-            logger.debug("SchedulerHandler " + ((SchedulerHandlerException)cause).getExceptionType() + " requested from event '" + e.getName() + "'");
+            logger.debugLazy(() -> "SchedulerHandler " + ((SchedulerHandlerException)cause).getExceptionType() + " requested from event '" + e.getName() + "'");
+        }
+        else if (cause instanceof CancellationException) {
+            logger.warn("Event call in '" + e.getName() + "' cancelled: '" + phase.getDescription() + "'");
+            return null;
+        }
+        else if (cause instanceof TimeoutException) {
+            metrics.recordError(eventIndex, phase);
+            logger.error("Event timeout in '" + e.getName() + "': '" + phase.getDescription() + "' call did not finish within "
+                + timeoutMillis[eventIndex][phase.ordinal()] + " millis", cause);
         }
         else {
+            metrics.recordError(eventIndex, phase);
             logger.error("Event failure in '" + e.getName() + "'", cause);
         }
         if (errors != null) {
@@ -306,8 +586,247 @@ public class EventBroadcasterAsync implements EventBroadcaster {
         return null;
     }
 
-    private Function<Throwable, Void> printError(Event e) {
-        return printError(e, null);
+    /**
+     * Keep alive broadcast without garbage on the broadcast thread: the calls per event, the failure slots
+     * and the latch are created once and reused for each keep alive. Only failures, timeouts and
+     * stop test run votes create objects.
+     * <br/>
+     * A call that timed out can still be running, or waiting in its serial lane, at the next keep alive.
+     * That event is skipped and counted as an error, like in callAllAndWait, the other events are called.
+     * Concurrent keep alive broadcasts go via callAllAndWait.
+     */
+    private final class KeepAliveTick {
+
+        private static final int IDLE = 0;
+        private static final int DONE = 1;
+        private static final int RUNNING = 2;
+
+        private final int[] eventIndexes;
+        private final Runnable[] calls;
+        private final long[] timeoutNanos;
+        // failure of the call per slot, written before the slot is DONE
+        private final Throwable[] failures;
+        // RUNNING until the call is done, DONE until the call has counted down, then IDLE
+        private final AtomicIntegerArray states;
+        // the slots started by the current keep alive, and the keep alive that started the call of the slot
+        private final boolean[] started;
+        private final long[] startedTicks;
+        private final boolean[] serialLanes;
+        private volatile long tick;
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicInteger stopTestRunVotes = new AtomicInteger();
+        private final AtomicBoolean inUse = new AtomicBoolean();
+        private volatile Thread waiter;
+
+        private KeepAliveTick(int[] eventIndexes) {
+            this.eventIndexes = eventIndexes;
+            this.calls = new Runnable[eventIndexes.length];
+            this.timeoutNanos = new long[eventIndexes.length];
+            this.failures = new Throwable[eventIndexes.length];
+            this.states = new AtomicIntegerArray(eventIndexes.length);
+            this.started = new boolean[eventIndexes.length];
+            this.startedTicks = new long[eventIndexes.length];
+            this.serialLanes = new boolean[eventIndexes.length];
+            for (int slot = 0; slot < eventIndexes.length; slot++) {
+                int eventIndex = eventIndexes[slot];
+                Event event = events.get(eventIndex);
+                serialLanes[slot] = eventExecutors[eventIndex] instanceof EventSerialLane;
+                Runnable keepAlive = instrumented(eventIndex, EventPhase.KEEP_ALIVE, () -> KeepAliveCall.callKeepAlive(event, stopTestRunVotes));
+                int callSlot = slot;
+                calls[slot] = () -> call(callSlot, keepAlive);
+                timeoutNanos[slot] = TimeUnit.MILLISECONDS.toNanos(timeoutMillis[eventIndex][EventPhase.KEEP_ALIVE.ordinal()]);
+            }
+        }
+
+        private void call(int slot, Runnable keepAlive) {
+            if (serialLanes[slot]) {
+                // the keep alive call leaves the lane when it starts
+                keepAliveQueued.set(eventIndexes[slot], 0);
+            }
+            try {
+                keepAlive.run();
+            } catch (Throwable t) {
+                failures[slot] = t;
+            } finally {
+                states.set(slot, DONE);
+                // a call of an earlier keep alive that timed out is not counted by the current keep alive
+                if (startedTicks[slot] == tick && pending.decrementAndGet() == 0) {
+                    LockSupport.unpark(waiter);
+                }
+                states.set(slot, IDLE);
+            }
+        }
+
+        /**
+         * Calls all keep alives, waits for the calls and throws the kill switch, abort or stop test run request, if any.
+         * @return false if another keep alive broadcast uses the slots and nothing was called
+         */
+        boolean broadcast() {
+            if (!inUse.compareAndSet(false, true)) {
+                return false;
+            }
+            Queue<Throwable> exceptions;
+            int votes;
+            try {
+                start();
+                awaitCalls();
+                exceptions = collectFailures();
+                votes = stopTestRunVotes.get();
+            } finally {
+                inUse.set(false);
+            }
+            if (exceptions != null || votes > 0 || continueTestRunParticipantsCount > 0) {
+                Queue<Throwable> foundExceptions = exceptions == null ? new ConcurrentLinkedQueue<>() : exceptions;
+                logger.debugLazy(() -> "Keep Alive found exceptions: " + foundExceptions + " and stop test run votes: " + votes);
+                throwAbortOrKillWitchOrStopTestRunException(foundExceptions, votes, continueTestRunParticipantsCount, logger);
+            }
+            return true;
+        }
+
+        /**
+         * Starts the calls of the events that have no call of an earlier keep alive running or waiting in their lane.
+         */
+        private void start() {
+            // a call that sees the new tick after DONE does not count down, so wait for the calls that are DONE
+            long currentTick = tick + 1;
+            tick = currentTick;
+            waiter = Thread.currentThread();
+            stopTestRunVotes.set(0);
+            int startCount = 0;
+            for (int slot = 0; slot < calls.length; slot++) {
+                int state;
+                while ((state = states.get(slot)) == DONE) {
+                    Thread.onSpinWait();
+                }
+                int eventIndex = eventIndexes[slot];
+                started[slot] = state == IDLE && (!serialLanes[slot] || keepAliveQueued.compareAndSet(eventIndex, 0, 1));
+                if (started[slot]) {
+                    failures[slot] = null;
+                    startedTicks[slot] = currentTick;
+                    states.set(slot, RUNNING);
+                    startCount++;
+                }
+                else {
+                    metrics.recordError(eventIndex, EventPhase.KEEP_ALIVE);
+                    logger.warn("Event keep alive in '" + events.get(eventIndex).getName() + "' not called: previous keep alive call is still running or waiting for an earlier call");
+                }
+            }
+            pending.set(startCount);
+            for (int slot = 0; slot < calls.length; slot++) {
+                if (!started[slot]) {
+                    continue;
+                }
+                try {
+                    eventExecutors[eventIndexes[slot]].execute(calls[slot]);
+                } catch (RejectedExecutionException e) {
+                    for (int notCalled = slot; notCalled < calls.length; notCalled++) {
+                        if (started[notCalled]) {
+                            started[notCalled] = false;
+                            if (serialLanes[notCalled]) {
+                                keepAliveQueued.set(eventIndexes[notCalled], 0);
+                            }
+                            states.set(notCalled, IDLE);
+                        }
+                    }
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Waits until all calls are done or the running calls are past their timeout.
+         * Wakes up at the first timeout of the running calls, or when the last call is done.
+         */
+        private void awaitCalls() {
+            long startNanos = System.nanoTime();
+            while (pending.get() > 0) {
+                long now = System.nanoTime();
+                long waitNanos = Long.MAX_VALUE;
+                for (int slot = 0; slot < calls.length; slot++) {
+                    long slotWaitNanos = startNanos + timeoutNanos[slot] - now;
+                    if (started[slot] && slotWaitNanos > 0 && states.get(slot) == RUNNING) {
+                        waitNanos = Math.min(waitNanos, slotWaitNanos);
+                    }
+                }
+                if (waitNanos == Long.MAX_VALUE) {
+                    return;
+                }
+                LockSupport.parkNanos(this, waitNanos);
+                if (Thread.currentThread().isInterrupted()) {
+                    logger.warn("got interrupt waiting for all '" + EventPhase.KEEP_ALIVE.getDescription() + "' calls to finish, " +
+                        "not all call may have been finished");
+                    return;
+                }
+            }
+        }
+
+        /**
+         * @return the failures and timeouts of the calls, null if there are none
+         */
+        private Queue<Throwable> collectFailures() {
+            Queue<Throwable> exceptions = null;
+            for (int slot = 0; slot < calls.length; slot++) {
+                if (!started[slot]) {
+                    continue;
+                }
+                Throwable failure = states.get(slot) == RUNNING ? new TimeoutException() : failures[slot];
+                if (failure != null) {
+                    if (exceptions == null) {
+                        exceptions = new ConcurrentLinkedQueue<>();
+                    }
+                    int eventIndex = eventIndexes[slot];
+                    dealWithErrors(events.get(eventIndex), eventIndex, EventPhase.KEEP_ALIVE, exceptions, failure);
+                }
+            }
+            return exceptions;
+        }
+    }
+
+    /**
+     * Call that can be interrupted while it runs, from another thread.
+     * The interrupt status is cleared when the call is done, so it does not leak to the next task of the thread.
+     */
+    private static final class InterruptibleCall implements Runnable {
+
+        private final Runnable call;
+        // guarded by this
+        private Thread thread;
+        private boolean interrupted;
+
+        private InterruptibleCall(Runnable call) {
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                thread = Thread.currentThread();
+            }
+            try {
+                call.run();
+            } finally {
+                synchronized (this) {
+                    thread = null;
+                    if (interrupted) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        synchronized void interrupt() {
+            if (thread != null) {
+                interrupted = true;
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Failures of the event calls are wrapped in a CompletionException, timeouts are not.
+     */
+    private static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
     }
 
 }
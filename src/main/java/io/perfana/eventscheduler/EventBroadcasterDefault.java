@@ -16,11 +16,15 @@
 package io.perfana.eventscheduler;
 
 import io.perfana.eventscheduler.api.*;
+import io.perfana.eventscheduler.api.config.EventSchedulerContext;
+import io.perfana.eventscheduler.exception.handler.AbortSchedulerException;
+import io.perfana.eventscheduler.exception.handler.KillSwitchException;
 import io.perfana.eventscheduler.exception.handler.SchedulerHandlerException;
 import io.perfana.eventscheduler.log.EventLoggerDevNull;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -30,55 +34,97 @@ public class EventBroadcasterDefault implements EventBroadcaster {
     private final EventLogger logger;
     private final int continueTestRunParticipantsCount;
 
+    private final EventBroadcastMetrics metrics;
+    private final EventPhaseFilter phaseFilter;
+    private final CustomEventRouter customEventRouter;
+    private final boolean keepAliveFailFast;
+
+    private volatile EventBroadcastListener listener;
+    // event names per event index, only looked up when a listener is set
+    private volatile String[] eventNames;
+
     EventBroadcasterDefault(Collection<Event> events, EventLogger logger) {
+        this(events, logger, null);
+    }
+
+    EventBroadcasterDefault(Collection<Event> events, EventLogger logger, EventSchedulerContext context) {
         this.events = events == null ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(events));
         this.continueTestRunParticipantsCount = (int) this.events.stream().filter(Event::isContinueOnKeepAliveParticipant).count();
         this.logger = logger == null ? EventLoggerDevNull.INSTANCE : logger;
+        this.metrics = new EventBroadcastMetrics(this.events);
+        this.phaseFilter = EventPhaseFilter.create(this.events, context == null || context.isSkipNotImplementedCallsEnabled());
+        this.customEventRouter = CustomEventRouter.create(this.events, context != null && context.isCustomEventRoutingEnabled(), phaseFilter);
+        this.keepAliveFailFast = context != null && context.isKeepAliveFailFastEnabled();
     }
 
     @Override
     public void broadcastBeforeTest() {
         logger.info("broadcast before test event");
-        events.forEach(catchExceptionWrapper(Event::beforeTest));
+        callAll(EventPhase.BEFORE_TEST, Event::beforeTest);
     }
 
     @Override
     public void broadcastStartTest() {
         logger.info("broadcast start test event");
-        events.forEach(catchExceptionWrapper(Event::startTest));
+        callAll(EventPhase.START_TEST, Event::startTest);
     }
 
     @Override
     public void broadcastAfterTest() {
         logger.info("broadcast after test event");
-        events.forEach(catchExceptionWrapper(Event::afterTest));
+        callAll(EventPhase.AFTER_TEST, Event::afterTest);
     }
 
     @Override
     public void broadcastKeepAlive() throws SchedulerHandlerException {
         logger.debug("broadcast keep alive event");
         Queue<Throwable> exceptions = new ConcurrentLinkedQueue<>();
-        events.forEach(catchExceptionWrapper(Event::keepAlive, exceptions));
-        logger.debug("Keep Alive found exceptions: " + exceptions);
-        throwAbortOrKillWitchOrStopTestRunException(exceptions, continueTestRunParticipantsCount, logger);
+        AtomicInteger stopTestRunVotes = new AtomicInteger();
+        Consumer<Event> keepAlive = event -> KeepAliveCall.callKeepAlive(event, stopTestRunVotes);
+        if (keepAliveFailFast) {
+            callAllUntilKillOrAbort(EventPhase.KEEP_ALIVE, keepAlive, exceptions);
+        }
+        else {
+            callAll(EventPhase.KEEP_ALIVE, keepAlive, exceptions);
+        }
+        logger.debugLazy(() -> "Keep Alive found exceptions: " + exceptions + " and stop test run votes: " + stopTestRunVotes);
+        throwAbortOrKillWitchOrStopTestRunException(exceptions, stopTestRunVotes.get(), continueTestRunParticipantsCount, logger);
     }
 
     @Override
     public void broadcastAbortTest() {
         logger.debug("broadcast abort test event");
-        events.forEach(catchExceptionWrapper(Event::abortTest));
+        callAll(EventPhase.ABORT_TEST, Event::abortTest);
     }
 
     @Override
     public void broadcastCustomEvent(CustomEvent scheduleEvent) {
         logger.info("broadcast " + scheduleEvent.getName() + " custom event");
-        events.forEach(catchExceptionWrapper(event -> event.customEvent(scheduleEvent)));
+        for (int eventIndex : customEventRouter.eventIndexes(scheduleEvent.getName())) {
+            acceptAndHandleExceptions(eventIndex, EventPhase.CUSTOM_EVENT, event -> event.customEvent(scheduleEvent), null);
+        }
+    }
+
+    @Override
+    public void broadcastCustomEvents(List<CustomEvent> scheduleEvents) {
+        logger.infoLazy(() -> "broadcast batch of " + scheduleEvents.size() + " custom events: " + scheduleEvents.stream().map(CustomEvent::getName).collect(Collectors.joining(",")));
+        for (int eventIndex : customEventRouter.eventIndexes(scheduleEvents)) {
+            List<CustomEvent> eventScheduleEvents = customEventRouter.customEvents(eventIndex, scheduleEvents);
+            acceptAndHandleExceptions(eventIndex, EventPhase.CUSTOM_EVENT, event -> {
+                if (eventScheduleEvents.size() == 1) {
+                    event.customEvent(eventScheduleEvents.get(0));
+                }
+                else {
+                    event.customEvents(eventScheduleEvents);
+                }
+            }, null);
+        }
     }
 
     @Override
     public List<EventCheck> broadcastCheck() {
         logger.info("broadcast check test");
-        return events.stream().map(Event::check).collect(Collectors.toList());
+        return checkAll();
     }
 
     @Override
@@ -86,31 +132,91 @@ public class EventBroadcasterDefault implements EventBroadcaster {
         logger.debug("shutdown broadcaster called, is noop in this implementation.");
     }
 
+    @Override
+    public void setBroadcastListener(EventBroadcastListener listener) {
+        this.eventNames = events.stream().map(Event::getName).toArray(String[]::new);
+        this.listener = listener;
+    }
+
+    @Override
+    public List<EventCallMetrics> getCallMetrics() {
+        return metrics.snapshot();
+    }
+
+    private List<EventCheck> checkAll() {
+        List<EventCheck> eventChecks = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            long startNanos = System.nanoTime();
+            Throwable failure = null;
+            try {
+                eventChecks.add(events.get(i).check());
+            } catch (RuntimeException e) {
+                failure = e;
+                metrics.recordError(i, EventPhase.CHECK);
+                throw e;
+            } finally {
+                callDone(i, EventPhase.CHECK, startNanos, failure);
+            }
+        }
+        return eventChecks;
+    }
+
     /**
      * Make sure events continue, even when exceptions are thrown, except when kill switch or abort is requested.
      */
-    private Consumer<Event> catchExceptionWrapper(Consumer<Event> consumer) throws SchedulerHandlerException {
-        return catchExceptionWrapper(consumer, null);
+    private void callAll(EventPhase phase, Consumer<Event> consumer) throws SchedulerHandlerException {
+        callAll(phase, consumer, null);
     }
 
     /**
      * Make sure events continue, even when exceptions are thrown.
-     * All exceptions are added to the queue.
+     * All exceptions are added to the queue. Events that do not implement the phase are skipped.
+     */
+    private void callAll(EventPhase phase, Consumer<Event> consumer, Queue<Throwable> errors) {
+        for (int eventIndex : phaseFilter.eventIndexes(phase)) {
+            acceptAndHandleExceptions(eventIndex, phase, consumer, errors);
+        }
+    }
+
+    /**
+     * Same as callAll, but the remaining events are not called after a kill switch or abort request.
      */
-    private Consumer<Event> catchExceptionWrapper(Consumer<Event> consumer, Queue<Throwable> errors) {
-        return event -> acceptAndHandleExceptions(consumer, errors, event);
+    private void callAllUntilKillOrAbort(EventPhase phase, Consumer<Event> consumer, Queue<Throwable> errors) {
+        for (int eventIndex : phaseFilter.eventIndexes(phase)) {
+            acceptAndHandleExceptions(eventIndex, phase, consumer, errors);
+            if (errors.stream().anyMatch(e -> e instanceof KillSwitchException || e instanceof AbortSchedulerException)) {
+                logger.info("kill switch or abort requested, skip the remaining '" + phase.getDescription() + "' calls");
+                return;
+            }
+        }
     }
 
-    private void acceptAndHandleExceptions(Consumer<Event> consumer, Queue<Throwable> errors, Event event) {
+    private void acceptAndHandleExceptions(int eventIndex, EventPhase phase, Consumer<Event> consumer, Queue<Throwable> errors) {
+        Event event = events.get(eventIndex);
+        long startNanos = System.nanoTime();
+        Throwable failure = null;
         try {
             consumer.accept(event);
         } catch (SchedulerHandlerException e) {
+            failure = e;
             if (errors != null) {
                 errors.add(e);
             }
         } catch (Exception e) {
+            failure = e;
+            metrics.recordError(eventIndex, phase);
             dealWithErrors(errors, event, e);
         }
+        callDone(eventIndex, phase, startNanos, failure);
+    }
+
+    private void callDone(int eventIndex, EventPhase phase, long startNanos, Throwable failure) {
+        long endNanos = System.nanoTime();
+        metrics.recordCall(eventIndex, phase, endNanos - startNanos);
+        EventBroadcastListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.onCall(eventNames[eventIndex], phase, startNanos, endNanos, failure);
+        }
     }
 
     private void dealWithErrors(Queue<Throwable> errors, Event event, Exception e) {
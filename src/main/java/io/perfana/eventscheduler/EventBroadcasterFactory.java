@@ -17,9 +17,75 @@ package io.perfana.eventscheduler;
 
 import io.perfana.eventscheduler.api.Event;
 import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.api.config.EventSchedulerContext;
 
 import java.util.Collection;
 
 public interface EventBroadcasterFactory {
     EventBroadcaster create(Collection<Event> event, EventLogger logger);
+
+    /**
+     * Create a broadcaster that uses the settings of the event scheduler context, such as the timeouts.
+     * Default implementation ignores the context.
+     */
+    default EventBroadcaster create(Collection<Event> events, EventLogger logger, EventSchedulerContext context) {
+        return create(events, logger);
+    }
+
+    /**
+     * @return factory for the async broadcaster that calls the events via a cached thread pool
+     */
+    static EventBroadcasterFactory async() {
+        return new EventBroadcasterFactory() {
+            @Override
+            public EventBroadcaster create(Collection<Event> events, EventLogger logger) {
+                return new EventBroadcasterAsync(events, logger);
+            }
+
+            @Override
+            public EventBroadcaster create(Collection<Event> events, EventLogger logger, EventSchedulerContext context) {
+                return new EventBroadcasterAsync(events, logger, null, context);
+            }
+        };
+    }
+
+    /**
+     * @return factory for the broadcaster that calls the events one by one in the calling thread
+     */
+    static EventBroadcasterFactory sequential() {
+        return new EventBroadcasterFactory() {
+            @Override
+            public EventBroadcaster create(Collection<Event> events, EventLogger logger) {
+                return new EventBroadcasterDefault(events, logger);
+            }
+
+            @Override
+            public EventBroadcaster create(Collection<Event> events, EventLogger logger, EventSchedulerContext context) {
+                return new EventBroadcasterDefault(events, logger, context);
+            }
+        };
+    }
+
+    /**
+     * Each event call runs in its own virtual thread, which avoids a platform thread per blocking event call.
+     * Virtual threads need java 21+, on older java versions the cached thread pool of the async broadcaster is used.
+     *
+     * @return factory for the async broadcaster that calls the events via virtual threads
+     */
+    static EventBroadcasterFactory asyncVirtualThreads() {
+        return new EventBroadcasterFactory() {
+            @Override
+            public EventBroadcaster create(Collection<Event> events, EventLogger logger) {
+                return create(events, logger, null);
+            }
+
+            @Override
+            public EventBroadcaster create(Collection<Event> events, EventLogger logger, EventSchedulerContext context) {
+                if (!VirtualThreads.isSupported() && logger != null) {
+                    logger.warn("virtual threads are not supported in java " + Runtime.version().feature() + ", using platform threads");
+                }
+                return new EventBroadcasterAsync(events, logger, VirtualThreads.newVirtualThreadPerTaskExecutor("EventBroadcasterVirtual-"), context);
+            }
+        };
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.BulkheadOverflowPolicy;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limits the number of concurrent calls to one event, extra calls wait in a bounded queue.
+ * The permits are shared by the bulkheads of all events, to also limit the concurrent calls to all events.
+ * <br/>
+ * A started call must call {@link #callDone()} when it is finished, which starts the next queued call.
+ * A bulkhead that has queued calls waiting for a shared permit is registered in the shared permits,
+ * so a finished call only wakes up the bulkheads that wait, not the bulkheads of all events.
+ */
+@ThreadSafe
+class EventBulkhead {
+
+    enum Admission { STARTED, QUEUED, COALESCED, REJECTED }
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final BulkheadOverflowPolicy overflowPolicy;
+    private final SharedPermits sharedPermits;
+
+    // guarded by this
+    private final Queue<QueuedCall> queue = new ArrayDeque<>();
+    private int inFlight;
+    private boolean waitingForSharedPermit;
+
+    private static final class QueuedCall {
+        private final String key;
+        private final Runnable start;
+
+        private QueuedCall(String key, Runnable start) {
+            this.key = key;
+            this.start = start;
+        }
+    }
+
+    /**
+     * Permits for the concurrent calls to all events, with the bulkheads that wait for a permit.
+     */
+    @ThreadSafe
+    static final class SharedPermits {
+
+        // null when unlimited
+        private final Semaphore permits;
+        private final Queue<EventBulkhead> waiting = new ConcurrentLinkedQueue<>();
+
+        /**
+         * @param maxConcurrent max concurrent calls to all events, 0 or less is unlimited
+         */
+        SharedPermits(int maxConcurrent) {
+            this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+        }
+
+        private boolean tryAcquire() {
+            return permits == null || permits.tryAcquire();
+        }
+
+        private void release() {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+
+        /**
+         * Start the queued calls of the waiting bulkheads, while there are permits.
+         */
+        void wakeUpWaiting() {
+            EventBulkhead bulkhead;
+            while (permits != null && permits.availablePermits() > 0 && (bulkhead = waiting.poll()) != null) {
+                bulkhead.wakeUp();
+            }
+        }
+    }
+
+    /**
+     * @param maxConcurrent max concurrent calls to this event, 0 or less is unlimited
+     */
+    EventBulkhead(int maxConcurrent, int maxQueued, BulkheadOverflowPolicy overflowPolicy, SharedPermits sharedPermits) {
+        this.maxConcurrent = maxConcurrent > 0 ? maxConcurrent : Integer.MAX_VALUE;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.overflowPolicy = overflowPolicy;
+        this.sharedPermits = sharedPermits;
+    }
+
+    /**
+     * @param key calls with the same key are coalesced, when the overflow policy is COALESCE
+     * @param start starts the call, outside the lock of this bulkhead
+     */
+    Admission submit(String key, Runnable start) {
+        synchronized (this) {
+            if (queue.isEmpty() && inFlight < maxConcurrent && sharedPermits.tryAcquire()) {
+                inFlight++;
+            }
+            else if (overflowPolicy == BulkheadOverflowPolicy.COALESCE && isQueued(key)) {
+                return Admission.COALESCED;
+            }
+            else if (queue.size() < maxQueued) {
+                queue.add(new QueuedCall(key, start));
+                start = null;
+            }
+            else {
+                return Admission.REJECTED;
+            }
+        }
+        if (start == null) {
+            // starts the queued call if there is room after all, or waits for a shared permit
+            startQueued();
+            return Admission.QUEUED;
+        }
+        start.run();
+        return Admission.STARTED;
+    }
+
+    private boolean isQueued(String key) {
+        for (QueuedCall queuedCall : queue) {
+            if (Objects.equals(queuedCall.key, key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void callDone() {
+        synchronized (this) {
+            inFlight--;
+        }
+        sharedPermits.release();
+        startQueued();
+    }
+
+    private void wakeUp() {
+        synchronized (this) {
+            waitingForSharedPermit = false;
+        }
+        startQueued();
+    }
+
+    /**
+     * Start queued calls while there is room. Without a shared permit this bulkhead waits for one:
+     * it registers and then tries once more, so a permit released in between is not missed.
+     */
+    private void startQueued() {
+        while (true) {
+            Runnable start;
+            synchronized (this) {
+                if (queue.isEmpty() || inFlight >= maxConcurrent) {
+                    return;
+                }
+                if (!sharedPermits.tryAcquire()) {
+                    if (waitingForSharedPermit) {
+                        return;
+                    }
+                    waitingForSharedPermit = true;
+                    sharedPermits.waiting.add(this);
+                    continue;
+                }
+                inFlight++;
+                start = queue.remove().start;
+            }
+            start.run();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.api.message.BackpressurePolicy;
+import io.perfana.eventscheduler.api.message.EventMessage;
+import io.perfana.eventscheduler.api.message.EventMessageBus;
+import io.perfana.eventscheduler.api.message.EventMessageReceiver;
+import io.perfana.eventscheduler.api.message.MessageTypeReceiver;
+import io.perfana.eventscheduler.log.EventLoggerDevNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EventMessageBus that decouples senders from receivers.
+ * <br/>
+ * Each receiver has a bounded queue and its own dispatch thread that delivers the queued
+ * messages in batches, in the order they were sent. A slow receiver does not block the sender
+ * nor the other receivers. When a queue is full the backpressure policy decides to block the
+ * sender or to drop a message.
+ * <br/>
+ * Also sends message to original sender if it is also receiving, like the EventMessageBusSimple.
+ * Receivers for a message type are kept in an index by message type, like the EventMessageBusSimple.
+ */
+public class EventMessageBusAsync implements EventMessageBus {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    private static final int MAX_BATCH_SIZE = 64;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    // wakes up a dispatch thread that waits for messages at close, compared by identity and never delivered
+    private static final EventMessage WAKE_UP_MESSAGE = EventMessage.builder().message("wake-up").pluginName("event-scheduler").build();
+
+    private final List<ReceiverQueue> receivers = new CopyOnWriteArrayList<>();
+    private final Map<String, List<ReceiverQueue>> receiversByMessageType = new ConcurrentHashMap<>();
+    private final EventLogger logger;
+    private final int queueCapacity;
+    private final BackpressurePolicy backpressurePolicy;
+    private final AtomicInteger threadCount = new AtomicInteger(0);
+    private final AtomicLong droppedMessageCount = new AtomicLong(0);
+    // the dispatch threads of all receivers, they never wait for a full queue
+    private final Set<Thread> dispatchers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed = false;
+
+    public EventMessageBusAsync(EventLogger logger, int queueCapacity, BackpressurePolicy backpressurePolicy) {
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("queueCapacity should be larger than zero: " + queueCapacity);
+        }
+        this.logger = logger == null ? EventLoggerDevNull.INSTANCE : logger;
+        this.queueCapacity = queueCapacity;
+        this.backpressurePolicy = backpressurePolicy == null ? BackpressurePolicy.BLOCK : backpressurePolicy;
+    }
+
+    public EventMessageBusAsync(EventLogger logger) {
+        this(logger, DEFAULT_QUEUE_CAPACITY, BackpressurePolicy.BLOCK);
+    }
+
+    @Override
+    public void send(EventMessage message) {
+        if (closed) {
+            logger.warn("message bus is closed, message is dropped: " + message);
+            droppedMessageCount.incrementAndGet();
+            return;
+        }
+        for (ReceiverQueue receiver : receivers) {
+            receiver.send(message);
+        }
+        if (!receiversByMessageType.isEmpty()) {
+            String messageType = message.getMessageType();
+            List<ReceiverQueue> typeReceivers = messageType == null ? null : receiversByMessageType.get(messageType);
+            if (typeReceivers != null) {
+                for (ReceiverQueue receiver : typeReceivers) {
+                    receiver.send(message);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addReceiver(EventMessageReceiver eventMessageReceiver) {
+        addReceiver(eventMessageReceiver, receivers);
+    }
+
+    @Override
+    public void addReceiver(EventMessageReceiver eventMessageReceiver, String messageType) {
+        addReceiver(eventMessageReceiver, receiversByMessageType.computeIfAbsent(messageType, type -> new CopyOnWriteArrayList<>()));
+    }
+
+    private void addReceiver(EventMessageReceiver eventMessageReceiver, List<ReceiverQueue> receiverQueues) {
+        if (closed) {
+            logger.warn("message bus is closed, receiver is not added: " + eventMessageReceiver);
+            return;
+        }
+        ReceiverQueue receiverQueue = new ReceiverQueue(eventMessageReceiver,
+            "EventMessageBus-Dispatch-" + threadCount.incrementAndGet());
+        receiverQueues.add(receiverQueue);
+        receiverQueue.start();
+    }
+
+    /**
+     * The messages that are pending for the receiver are still delivered, before this method returns.
+     * A receiver that removes itself receives no more messages.
+     */
+    @Override
+    public boolean removeReceiver(EventMessageReceiver eventMessageReceiver) {
+        List<ReceiverQueue> removed = new ArrayList<>();
+        for (List<ReceiverQueue> receiverQueues : allReceiverQueues()) {
+            for (ReceiverQueue receiverQueue : receiverQueues) {
+                if (MessageTypeReceiver.isReceiver(receiverQueue.receiver, eventMessageReceiver) && receiverQueues.remove(receiverQueue)) {
+                    receiverQueue.close();
+                    removed.add(receiverQueue);
+                }
+            }
+        }
+        long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        removed.forEach(receiverQueue -> receiverQueue.awaitClosed(deadline));
+        return !removed.isEmpty();
+    }
+
+    private List<List<ReceiverQueue>> allReceiverQueues() {
+        List<List<ReceiverQueue>> all = new ArrayList<>();
+        all.add(receivers);
+        all.addAll(receiversByMessageType.values());
+        return all;
+    }
+
+    /**
+     * Waits for the dispatch threads to deliver the pending messages.
+     * A receiver that closes the bus from its own dispatch thread receives no more messages
+     * and does not wait.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        List<List<ReceiverQueue>> allReceiverQueues = allReceiverQueues();
+        allReceiverQueues.forEach(receiverQueues -> receiverQueues.forEach(ReceiverQueue::close));
+        long deadline = System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS;
+        allReceiverQueues.forEach(receiverQueues -> receiverQueues.forEach(receiver -> receiver.awaitClosed(deadline)));
+        if (droppedMessageCount.get() > 0) {
+            logger.warn("message bus closed, dropped messages: " + droppedMessageCount.get());
+        }
+    }
+
+    /**
+     * @return number of messages that were not delivered to a receiver because of backpressure or close
+     */
+    public long getDroppedMessageCount() {
+        return droppedMessageCount.get();
+    }
+
+    private void dropped(EventMessage message) {
+        droppedMessageCount.incrementAndGet();
+        logger.debugLazy(() -> "message bus queue full, dropped message: " + message);
+    }
+
+    private class ReceiverQueue implements Runnable {
+
+        private final EventMessageReceiver receiver;
+        private final BlockingQueue<EventMessage> queue;
+        private final Thread dispatcher;
+        // set when a receiver removes itself, the dispatch thread stops after the current message
+        private volatile boolean stopped = false;
+        // set on close, the dispatch thread stops when the queue is empty: a flag and not a message in
+        // the queue, so a drop policy cannot drop it
+        private volatile boolean closing = false;
+        // set when the dispatch thread stops, messages in the queue after that are dropped
+        private volatile boolean finished = false;
+
+        ReceiverQueue(EventMessageReceiver receiver, String threadName) {
+            this.receiver = receiver;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.dispatcher = new Thread(this, threadName);
+            this.dispatcher.setDaemon(true);
+        }
+
+        void start() {
+            dispatchers.add(dispatcher);
+            dispatcher.start();
+        }
+
+        /**
+         * A sender that passed the closed check of the bus can enqueue after the dispatch thread stopped:
+         * the dispatch thread and the sender both drop what is left in the queue after the stop, so the
+         * message is counted as dropped by one of them.
+         */
+        void send(EventMessage message) {
+            enqueue(message);
+            if (finished) {
+                dropPending();
+            }
+        }
+
+        private void dropPending() {
+            EventMessage message;
+            while ((message = queue.poll()) != null) {
+                if (message != WAKE_UP_MESSAGE) {
+                    dropped(message);
+                }
+            }
+        }
+
+        private void enqueue(EventMessage message) {
+            switch (backpressurePolicy) {
+                case DROP_NEWEST:
+                    if (!queue.offer(message)) {
+                        dropped(message);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!queue.offer(message)) {
+                        EventMessage oldest = queue.poll();
+                        if (oldest != null) {
+                            dropped(oldest);
+                        }
+                    }
+                    break;
+                default:
+                    put(message);
+            }
+        }
+
+        private void put(EventMessage message) {
+            // a receiver that sends a message must not wait for a full queue: not its own queue, and not the
+            // queue of another receiver that can wait for the queue of this receiver at the same time
+            if (dispatchers.contains(Thread.currentThread())) {
+                if (!queue.offer(message)) {
+                    dropped(message);
+                }
+                return;
+            }
+            try {
+                queue.put(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped(message);
+            }
+        }
+
+        boolean isDispatcherThread() {
+            return Thread.currentThread() == dispatcher;
+        }
+
+        void close() {
+            if (isDispatcherThread()) {
+                stopped = true;
+                return;
+            }
+            closing = true;
+            // only needed when the dispatch thread waits on an empty queue: when the queue is full
+            // the dispatch thread is busy and sees the flag when the queue is empty
+            queue.offer(WAKE_UP_MESSAGE);
+        }
+
+        void awaitClosed(long deadlineMillis) {
+            // a receiver that closes the bus from its own dispatch thread cannot wait for itself
+            if (isDispatcherThread()) {
+                return;
+            }
+            try {
+                dispatcher.join(Math.max(1, deadlineMillis - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (dispatcher.isAlive()) {
+                logger.warn("dispatch thread " + dispatcher.getName() + " did not finish in time, interrupting");
+                dispatcher.interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<EventMessage> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            try {
+                while (true) {
+                    if (closing && queue.isEmpty()) {
+                        return;
+                    }
+                    batch.add(queue.take());
+                    queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                    for (EventMessage message : batch) {
+                        if (stopped) {
+                            return;
+                        }
+                        if (message != WAKE_UP_MESSAGE) {
+                            deliver(message);
+                        }
+                    }
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                logger.debug("dispatch thread " + dispatcher.getName() + " interrupted, stop delivering messages");
+            } finally {
+                finished = true;
+                dispatchers.remove(dispatcher);
+                dropPending();
+            }
+        }
+
+        private void deliver(EventMessage message) {
+            try {
+                receiver.receive(message);
+            } catch (Exception e) {
+                logger.error("message receiver failed for message: " + message, e);
+            }
+        }
+    }
+}
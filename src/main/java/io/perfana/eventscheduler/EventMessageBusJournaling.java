@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.message.EventMessage;
+import io.perfana.eventscheduler.api.message.EventMessageBus;
+import io.perfana.eventscheduler.api.message.EventMessageReceiver;
+import io.perfana.eventscheduler.journal.EventJournal;
+
+/**
+ * Records all messages in the event journal, then sends them via the wrapped message bus.
+ */
+public class EventMessageBusJournaling implements EventMessageBus {
+
+    private final EventMessageBus messageBus;
+    private final EventJournal journal;
+
+    public EventMessageBusJournaling(EventMessageBus messageBus, EventJournal journal) {
+        this.messageBus = messageBus;
+        this.journal = journal;
+    }
+
+    @Override
+    public void send(EventMessage message) {
+        journal.recordMessage(message);
+        messageBus.send(message);
+    }
+
+    @Override
+    public void addReceiver(EventMessageReceiver eventMessageReceiver) {
+        messageBus.addReceiver(eventMessageReceiver);
+    }
+
+    @Override
+    public void addReceiver(EventMessageReceiver eventMessageReceiver, String messageType) {
+        messageBus.addReceiver(eventMessageReceiver, messageType);
+    }
+
+    @Override
+    public boolean removeReceiver(EventMessageReceiver eventMessageReceiver) {
+        return messageBus.removeReceiver(eventMessageReceiver);
+    }
+
+    /**
+     * Called on the final close of the event scheduler, after the checks: also closes the journal.
+     */
+    @Override
+    public void close() {
+        messageBus.close();
+        journal.close();
+    }
+}
@@ -18,27 +18,63 @@ package io.perfana.eventscheduler;
 import io.perfana.eventscheduler.api.message.EventMessage;
 import io.perfana.eventscheduler.api.message.EventMessageBus;
 import io.perfana.eventscheduler.api.message.EventMessageReceiver;
+import io.perfana.eventscheduler.api.message.MessageTypeReceiver;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Very simple EventMessageBus implementation.
  * Sends messages to all receivers known at send time.
  * Also sends message to original sender if it is also receiving.
+ * <br/>
+ * The receivers are kept in a copy-on-write array: sending iterates a snapshot without locks,
+ * so concurrent senders do not wait on each other, and receivers can be added or removed
+ * during a send without blocking.
+ * <br/>
+ * Receivers for a message type are kept in an index by message type, so a message is only
+ * offered to the receivers of all messages and the receivers of its type.
  */
 public class EventMessageBusSimple implements EventMessageBus {
 
-    private final List<EventMessageReceiver> receivers = Collections.synchronizedList(new ArrayList<>());
+    private final CopyOnWriteArrayList<EventMessageReceiver> receivers = new CopyOnWriteArrayList<>();
+
+    private final Map<String, CopyOnWriteArrayList<EventMessageReceiver>> receiversByMessageType = new ConcurrentHashMap<>();
 
     @Override
     public void send(EventMessage message) {
-        receivers.forEach(r -> r.receive(message));
+        for (EventMessageReceiver receiver : receivers) {
+            receiver.receive(message);
+        }
+        if (!receiversByMessageType.isEmpty()) {
+            String messageType = message.getMessageType();
+            List<EventMessageReceiver> typeReceivers = messageType == null ? null : receiversByMessageType.get(messageType);
+            if (typeReceivers != null) {
+                for (EventMessageReceiver receiver : typeReceivers) {
+                    receiver.receive(message);
+                }
+            }
+        }
     }
 
     @Override
     public void addReceiver(EventMessageReceiver eventMessageReceiver) {
         receivers.add(eventMessageReceiver);
     }
+
+    @Override
+    public void addReceiver(EventMessageReceiver eventMessageReceiver, String messageType) {
+        receiversByMessageType.computeIfAbsent(messageType, type -> new CopyOnWriteArrayList<>()).add(eventMessageReceiver);
+    }
+
+    @Override
+    public boolean removeReceiver(EventMessageReceiver eventMessageReceiver) {
+        boolean removed = receivers.removeIf(receiver -> MessageTypeReceiver.isReceiver(receiver, eventMessageReceiver));
+        for (List<EventMessageReceiver> typeReceivers : receiversByMessageType.values()) {
+            removed |= typeReceivers.removeIf(receiver -> MessageTypeReceiver.isReceiver(receiver, eventMessageReceiver));
+        }
+        return removed;
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.Event;
+import io.perfana.eventscheduler.api.EventAdapter;
+import io.perfana.eventscheduler.api.EventPhase;
+import net.jcip.annotations.Immutable;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * The events to call per phase.
+ * <br/>
+ * An event that extends {@link EventAdapter} and does not override the method of a phase only logs
+ * "not implemented" in that phase, so that call is skipped. Other events are called in all phases.
+ * The overridden methods are looked up once per event class, no event methods are called.
+ * The check phase is always called, because the check results are returned for all events.
+ */
+@Immutable
+final class EventPhaseFilter {
+
+    private static final EventPhase[] PHASES = EventPhase.values();
+
+    private static final ClassValue<Set<EventPhase>> IMPLEMENTED_PHASES = new ClassValue<Set<EventPhase>>() {
+        @Override
+        protected Set<EventPhase> computeValue(Class<?> type) {
+            return findImplementedPhases(type);
+        }
+    };
+
+    // event indexes per phase ordinal, in event order
+    private final int[][] eventIndexesPerPhase;
+
+    private EventPhaseFilter(List<Event> events, boolean skipNotImplemented) {
+        this.eventIndexesPerPhase = new int[PHASES.length][];
+        for (EventPhase phase : PHASES) {
+            eventIndexesPerPhase[phase.ordinal()] = IntStream.range(0, events.size())
+                .filter(i -> !skipNotImplemented || implementedPhases(events.get(i).getClass()).contains(phase))
+                .toArray();
+        }
+    }
+
+    static EventPhaseFilter create(List<Event> events, boolean skipNotImplemented) {
+        return new EventPhaseFilter(events, skipNotImplemented);
+    }
+
+    /**
+     * @return the indexes of the events to call in the phase, in event order
+     */
+    int[] eventIndexes(EventPhase phase) {
+        return eventIndexesPerPhase[phase.ordinal()];
+    }
+
+    /**
+     * @return the phases in which the event class does more than the empty {@link EventAdapter} implementation
+     */
+    static Set<EventPhase> implementedPhases(Class<? extends Event> eventClass) {
+        return IMPLEMENTED_PHASES.get(eventClass);
+    }
+
+    private static Set<EventPhase> findImplementedPhases(Class<?> type) {
+        if (!EventAdapter.class.isAssignableFrom(type)) {
+            return Collections.unmodifiableSet(EnumSet.allOf(EventPhase.class));
+        }
+        EnumSet<EventPhase> phases = EnumSet.of(EventPhase.CHECK);
+        addIfOverridden(phases, type, EventPhase.BEFORE_TEST, "beforeTest");
+        addIfOverridden(phases, type, EventPhase.START_TEST, "startTest");
+        addIfOverridden(phases, type, EventPhase.KEEP_ALIVE, "keepAlive");
+        addIfOverridden(phases, type, EventPhase.KEEP_ALIVE, "keepAliveWithResult");
+        addIfOverridden(phases, type, EventPhase.AFTER_TEST, "afterTest");
+        addIfOverridden(phases, type, EventPhase.ABORT_TEST, "abortTest");
+        addIfOverridden(phases, type, EventPhase.CUSTOM_EVENT, "customEvent", CustomEvent.class);
+        addIfOverridden(phases, type, EventPhase.CUSTOM_EVENT, "customEvents", List.class);
+        return Collections.unmodifiableSet(phases);
+    }
+
+    private static void addIfOverridden(Set<EventPhase> phases, Class<?> type, EventPhase phase, String methodName, Class<?>... parameterTypes) {
+        for (Class<?> declaringClass = type; declaringClass != EventAdapter.class; declaringClass = declaringClass.getSuperclass()) {
+            try {
+                declaringClass.getDeclaredMethod(methodName, parameterTypes);
+                phases.add(phase);
+                return;
+            } catch (NoSuchMethodException e) {
+                // not overridden in this class, try the super class
+            }
+        }
+    }
+}
@@ -30,7 +30,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
-public final class EventScheduler {
+public final class EventScheduler implements AutoCloseable {
 
     private final EventLogger logger;
 
@@ -42,7 +42,7 @@ public final class EventScheduler {
 
     private final EventMessageBus messageBus;
 
-    private final Collection<CustomEvent> scheduleEvents;
+    private final Iterable<CustomEvent> scheduleEvents;
 
     private final EventSchedulerContext eventSchedulerContext;
 
@@ -59,7 +59,7 @@ public final class EventScheduler {
     private final int waitForGoMessagesCount;
 
     EventScheduler(EventBroadcaster broadcaster,
-                   Collection<CustomEvent> scheduleEvents,
+                   Iterable<CustomEvent> scheduleEvents,
                    EventSchedulerContext eventSchedulerContext,
                    EventMessageBus messageBus,
                    EventLogger logger,
@@ -99,7 +99,8 @@ public final class EventScheduler {
             // Note that schedulerExceptionHandler field can be set later, so it's value can change over time!
             // The schedulerExceptionHandler can be null in constructor.
             // Can result in: "SchedulerHandlerException KILL was thrown, but no SchedulerExceptionHandler is present."
-            eventSchedulerEngine.startKeepAliveThread(name, eventSchedulerContext.getKeepAliveInterval(), broadcaster, schedulerExceptionHandler.get());
+            eventSchedulerEngine.startKeepAliveThread(name, eventSchedulerContext.getKeepAliveInterval(),
+                eventSchedulerContext.getKeepAliveOverrunPolicy(), broadcaster, schedulerExceptionHandler.get());
             eventSchedulerEngine.startCustomEventScheduler(scheduleEvents, broadcaster);
         };
     }
@@ -157,6 +158,10 @@ public final class EventScheduler {
 
             broadcaster.broadcastAfterTest();
 
+            if (eventSchedulerContext.isCallMetricsMessageEnabled()) {
+                sendMessage(createCallMetricsMessage(broadcaster.getCallMetrics(), eventSchedulerEngine.getKeepAliveMetrics()));
+            }
+
             logger.info("all broadcasts for stop test session are done");
         }
     }
@@ -195,11 +200,11 @@ public final class EventScheduler {
 
         List<EventCheck> eventChecks = broadcaster.broadcastCheck();
 
-        logger.debug("event checks: " + eventChecks);
+        logger.debugLazy(() -> "event checks: " + eventChecks);
 
         boolean success = eventChecks.stream().allMatch(e -> e.getEventStatus() != EventStatus.FAILURE);
 
-        logger.debug("checked " + eventChecks.size() + " event checks, all success: " + success);
+        logger.debugLazy(() -> "checked " + eventChecks.size() + " event checks, all success: " + success);
 
         if (!success) {
             String failureMessage = eventChecks.stream()
@@ -217,6 +222,19 @@ public final class EventScheduler {
         }
     }
 
+    /**
+     * Final shutdown of this scheduler: call after stop or abort, and after the check results.
+     * Delivers the pending messages of the message bus and closes it, messages sent after close are dropped.
+     */
+    @Override
+    public void close() {
+        if (isSessionActive.get()) {
+            logger.warn("close called while test session is active, call stop or abort session first");
+        }
+        logger.info("close event scheduler");
+        messageBus.close();
+    }
+
     @Override
     public String toString() {
         return "EventScheduler [testRunId:" + name + "]";
@@ -230,6 +248,40 @@ public final class EventScheduler {
         messageBus.send(message);
     }
 
+    /**
+     * @return call count, error count and latencies of the calls to the events, per event and phase
+     */
+    public List<EventCallMetrics> getEventCallMetrics() {
+        return broadcaster.getCallMetrics();
+    }
+
+    /**
+     * @return tick count, overruns, skipped ticks and lateness of the keep alive ticks of this session
+     */
+    public KeepAliveMetrics getKeepAliveMetrics() {
+        return eventSchedulerEngine.getKeepAliveMetrics();
+    }
+
+    private static EventMessage createCallMetricsMessage(List<EventCallMetrics> callMetrics, KeepAliveMetrics keepAliveMetrics) {
+        EventMessage.EventMessageBuilder message = EventMessage.builder()
+            .pluginName("event-scheduler")
+            .message("event call metrics")
+            .variable(EventMessage.MESSAGE_TYPE_VARIABLE, "event-call-metrics");
+        for (EventCallMetrics metrics : callMetrics) {
+            message.variable(metrics.getEventName() + "." + metrics.getPhase().name(),
+                String.format("calls=%d errors=%d mean=%dms p50=%dms p90=%dms p99=%dms max=%dms",
+                    metrics.getCallCount(), metrics.getErrorCount(), metrics.getMean().toMillis(), metrics.getP50().toMillis(),
+                    metrics.getP90().toMillis(), metrics.getP99().toMillis(), metrics.getMax().toMillis()));
+        }
+        if (keepAliveMetrics != null) {
+            message.variable("keep-alive-ticks",
+                String.format("ticks=%d overruns=%d skipped=%d mean-lateness=%dms max-lateness=%dms",
+                    keepAliveMetrics.getTickCount(), keepAliveMetrics.getOverrunCount(), keepAliveMetrics.getSkippedTickCount(),
+                    keepAliveMetrics.getAverageLateness().toMillis(), keepAliveMetrics.getMaxLateness().toMillis()));
+        }
+        return message.build();
+    }
+
     private interface StartTestFunction {
         void start();
     }
@@ -26,15 +26,21 @@ import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import io.perfana.eventscheduler.generator.EventGeneratorDefault;
 import io.perfana.eventscheduler.generator.EventGeneratorFactoryDefault;
 import io.perfana.eventscheduler.generator.EventGeneratorFactoryProvider;
+import io.perfana.eventscheduler.journal.EventJournal;
 import io.perfana.eventscheduler.log.EventLoggerDevNull;
 import io.perfana.eventscheduler.log.EventLoggerWithName;
 import net.jcip.annotations.NotThreadSafe;
 
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -43,6 +49,9 @@ import java.util.stream.Collectors;
 @NotThreadSafe
 class EventSchedulerBuilderInternal {
 
+    // max threads to create events and run test context initializers in parallel
+    private static final int MAX_PARALLEL_BUILD_THREADS = 16;
+
     private final AtomicReference<EventSchedulerContext> eventSchedulerContext = new AtomicReference<>();
 
     private final Map<String, EventContext> eventContexts = new ConcurrentHashMap<>();
@@ -116,13 +125,32 @@ class EventSchedulerBuilderInternal {
 
         initializeTestContext(classLoader);
 
-        EventMessageBus messageBus = (this.eventMessageBus == null)
-            ? new EventMessageBusSimple()
-            : this.eventMessageBus;
+        String journalFile = eventSchedulerContext.get().getJournalFile();
+        EventJournal journal = journalFile == null ? null : new EventJournal(Paths.get(journalFile), logger);
+
+        EventMessageBus messageBus = journaling(journal, (this.eventMessageBus == null)
+            ? defaultEventMessageBus(eventSchedulerContext.get())
+            : this.eventMessageBus);
+
+        try {
+            return createEventScheduler(classLoader, journal, messageBus);
+        } catch (RuntimeException e) {
+            // the journal and the default message bus have threads and the journal has a mapped file,
+            // a message bus that was set on this builder is not closed
+            if (this.eventMessageBus == null) {
+                messageBus.close();
+            }
+            else if (journal != null) {
+                journal.close();
+            }
+            throw e;
+        }
+    }
 
+    private EventScheduler createEventScheduler(ClassLoader classLoader, EventJournal journal, EventMessageBus messageBus) {
         eventSchedulerContext.get().getEventContexts().forEach(this::addEvent);
 
-        List<CustomEvent> customEvents =
+        Iterable<CustomEvent> customEvents =
                 generateCustomEventSchedule(customEventsText, logger, classLoader);
 
         // check if provider is already injected (for testing)
@@ -134,19 +162,26 @@ class EventSchedulerBuilderInternal {
                 .filter(eventConfig -> !eventConfig.isEnabled())
                 .forEach(eventConfig -> logger.info("Event disabled: " + eventConfig.getName()));
 
-        List<Event> events = this.eventContexts.values().stream()
+        List<EventContext> enabledEventContexts = this.eventContexts.values().stream()
                 .filter(EventContext::isEnabled)
-                .map(context -> createEvent(myEventFactoryProvider, context, eventSchedulerContext.get().getTestContext(), messageBus))
                 .collect(Collectors.toList());
 
+        TestContext testContext = eventSchedulerContext.get().getTestContext();
+        List<Event> events = map(enabledEventContexts,
+                context -> createEvent(myEventFactoryProvider, context, testContext, messageBus));
+
         EventBroadcasterFactory broadcasterFactory = (eventBroadcasterFactory == null)
-                ? EventBroadcasterAsync::new
+                ? defaultEventBroadcasterFactory(eventSchedulerContext.get())
                 : eventBroadcasterFactory;
 
-        EventBroadcaster broadcaster = broadcasterFactory.create(events, logger);
+        EventBroadcaster broadcaster = broadcasterFactory.create(events, logger, eventSchedulerContext.get());
+        if (journal != null) {
+            broadcaster.setBroadcastListener(journal::recordBroadcast);
+        }
 
         eventSchedulerEngine = (eventSchedulerEngine == null)
-            ? new EventSchedulerEngine(logger)
+            ? new EventSchedulerEngine(logger, eventSchedulerContext.get().getCustomEventSchedulerType(),
+                EventSchedulerEngine.DEFAULT_CUSTOM_EVENT_SCHEDULE_WINDOW, eventSchedulerContext.get().getCustomEventBatchWindow())
             : eventSchedulerEngine;
 
         return new EventScheduler(
@@ -159,6 +194,26 @@ class EventSchedulerBuilderInternal {
                 schedulerExceptionHandler);
     }
 
+    private EventMessageBus journaling(EventJournal journal, EventMessageBus messageBus) {
+        if (journal == null) {
+            return messageBus;
+        }
+        logger.info("record messages and event calls in journal: " + journal.getFile());
+        return new EventMessageBusJournaling(messageBus, journal);
+    }
+
+    private EventMessageBus defaultEventMessageBus(EventSchedulerContext context) {
+        return context.isAsyncMessageBusEnabled()
+                ? new EventMessageBusAsync(logger, context.getMessageBusQueueCapacity(), context.getMessageBusBackpressurePolicy())
+                : new EventMessageBusSimple();
+    }
+
+    private static EventBroadcasterFactory defaultEventBroadcasterFactory(EventSchedulerContext context) {
+        return context.isVirtualThreadsEnabled()
+                ? EventBroadcasterFactory.asyncVirtualThreads()
+                : EventBroadcasterFactory.async();
+    }
+
     private void initializeTestContext(ClassLoader classLoader) {
         // check if provider is already injected (for testing)
         TestContextInitializerFactoryProvider testContextInitProvider = (testContextInitializerFactoryProvider == null)
@@ -179,24 +234,104 @@ class EventSchedulerBuilderInternal {
                         (f1, f2) -> { logger.warn("found duplicate test context initializer: " + f2.getClass().getName()); return f1; }));
 
         logger.info("init test context");
-        final AtomicReference<TestContext> testContext = new AtomicReference<>(eventSchedulerContext.get().getTestContext());
-
-        allEventContexts.stream()
+        List<EventContext> enabledEventContexts = allEventContexts.stream()
                 .filter(EventContext::isEnabled)
-                .forEach(eventContext -> initializeTestContext(eventContext, testContextInitializers, testContext));
+                .collect(Collectors.toList());
+
+        TestContext testContext = eventSchedulerContext.get().getTestContext();
+        if (eventSchedulerContext.get().isParallelBuildEnabled()) {
+            // all initializers extend the same test context, the changes are merged in event order
+            TestContext baseTestContext = testContext;
+            List<TestContext> extendedTestContexts = map(enabledEventContexts,
+                    eventContext -> initializeTestContext(eventContext, testContextInitializers, baseTestContext));
+            for (TestContext extendedTestContext : extendedTestContexts) {
+                testContext = mergeChanges(testContext, baseTestContext, extendedTestContext);
+            }
+        }
+        else {
+            for (EventContext eventContext : enabledEventContexts) {
+                testContext = initializeTestContext(eventContext, testContextInitializers, testContext);
+            }
+        }
 
-        this.eventSchedulerContext.set(eventSchedulerContext.get().withTestContext(testContext.get()));
+        this.eventSchedulerContext.set(eventSchedulerContext.get().withTestContext(testContext));
     }
 
-    private void initializeTestContext(EventContext eventContext, Map<String, TestContextInitializerFactory> testContextInitializers, AtomicReference<TestContext> testContext) {
+    @SuppressWarnings("unchecked")
+    private TestContext initializeTestContext(EventContext eventContext, Map<String, TestContextInitializerFactory> testContextInitializers, TestContext testContext) {
         TestContextInitializerFactory factory = testContextInitializers.get(eventContext.getClass().getName());
         if (factory == null) {
-            logger.debug("no test context initializer factory found for event: " + eventContext.getName());
-            return;
+            logger.debugLazy(() -> "no test context initializer factory found for event: " + eventContext.getName());
+            return testContext;
         }
         TestContextInitializer testContextInitializer = factory.create(eventContext, logger);
         logger.info("init test context for event: " + eventContext.getName());
-        testContext.set(testContextInitializer.extendTestContext(testContext.get()));
+        return testContextInitializer.extendTestContext(testContext);
+    }
+
+    /**
+     * Apply the fields that the extended test context changed compared to the base test context.
+     * For the same field, the change of the last extended test context wins, added tags are all kept
+     * and removed tags are all removed.
+     * <br/>
+     * Every field of TestContext is listed here: a new field must be added, the test for this method fails otherwise.
+     */
+    static TestContext mergeChanges(TestContext merged, TestContext base, TestContext extended) {
+        List<String> tags = new ArrayList<>(merged.getTags());
+        base.getTags().stream()
+                .filter(tag -> !extended.getTags().contains(tag))
+                .forEach(tags::remove);
+        extended.getTags().stream()
+                .filter(tag -> !base.getTags().contains(tag) && !tags.contains(tag))
+                .forEach(tags::add);
+
+        return merged
+                .withSystemUnderTest(changed(base.getSystemUnderTest(), extended.getSystemUnderTest(), merged.getSystemUnderTest()))
+                .withWorkload(changed(base.getWorkload(), extended.getWorkload(), merged.getWorkload()))
+                .withTestEnvironment(changed(base.getTestEnvironment(), extended.getTestEnvironment(), merged.getTestEnvironment()))
+                .withProductName(changed(base.getProductName(), extended.getProductName(), merged.getProductName()))
+                .withDashboardName(changed(base.getDashboardName(), extended.getDashboardName(), merged.getDashboardName()))
+                .withTestRunId(changed(base.getTestRunId(), extended.getTestRunId(), merged.getTestRunId()))
+                .withBuildResultsUrl(changed(base.getBuildResultsUrl(), extended.getBuildResultsUrl(), merged.getBuildResultsUrl()))
+                .withVersion(changed(base.getVersion(), extended.getVersion(), merged.getVersion()))
+                .withAnnotations(changed(base.getAnnotations(), extended.getAnnotations(), merged.getAnnotations()))
+                .withTags(Collections.unmodifiableList(tags))
+                .withRampupTime(changed(base.getRampupTime(), extended.getRampupTime(), merged.getRampupTime()))
+                .withConstantLoadTime(changed(base.getConstantLoadTime(), extended.getConstantLoadTime(), merged.getConstantLoadTime()));
+    }
+
+    private static <T> T changed(T base, T extended, T merged) {
+        return Objects.equals(base, extended) ? merged : extended;
+    }
+
+    /**
+     * Apply the function to all items, in parallel when parallel build is enabled. The results are in item order
+     * and the first failure in item order is thrown.
+     */
+    private <T, R> List<R> map(List<T> items, Function<T, R> function) {
+        if (!eventSchedulerContext.get().isParallelBuildEnabled() || items.size() <= 1) {
+            return items.stream().map(function).collect(Collectors.toList());
+        }
+
+        AtomicInteger threadCount = new AtomicInteger(0);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(items.size(), MAX_PARALLEL_BUILD_THREADS),
+            r -> new Thread(r, "EventSchedulerBuilder-" + threadCount.incrementAndGet()));
+        try {
+            List<CompletableFuture<R>> futures = items.stream()
+                    .map(item -> CompletableFuture.supplyAsync(() -> function.apply(item), executor))
+                    .collect(Collectors.toList());
+            List<R> results = new ArrayList<>(futures.size());
+            for (CompletableFuture<R> future : futures) {
+                results.add(future.join()); //NOPMD - suppressed AvoidFutureJoinWithoutTimeout - event creation has no timeout, same as sequential build
+            }
+            return results;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException
+                    ? (RuntimeException) e.getCause()
+                    : new EventSchedulerRuntimeException("parallel build failed", e);
+        } finally {
+            executor.shutdown();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -205,7 +340,7 @@ class EventSchedulerBuilderInternal {
         String eventName = context.getName();
         EventLogger eventLogger = new EventLoggerWithName(eventName, removeFactoryPostfix(factoryClassName), logger);
 
-        logger.debug("create event: " + eventName + " with factory: " + factoryClassName + " and context: " + context);
+        logger.debugLazy(() -> "create event: " + eventName + " with factory: " + factoryClassName + " and context: " + context);
 
         // create has raw type usage, so we have @SuppressWarnings("unchecked")
         return provider.factoryByClassName(factoryClassName)
@@ -218,7 +353,7 @@ class EventSchedulerBuilderInternal {
         return index != -1 ? factoryClassName.substring(0, index) : factoryClassName;
     }
 
-    private List<CustomEvent> generateCustomEventSchedule(String text, EventLogger logger, ClassLoader classLoader) {
+    private Iterable<CustomEvent> generateCustomEventSchedule(String text, EventLogger logger, ClassLoader classLoader) {
         EventGenerator eventGenerator;
         EventGeneratorProperties eventGeneratorProperties;
 
@@ -248,6 +383,11 @@ class EventSchedulerBuilderInternal {
             eventGenerator = new EventGeneratorFactoryDefault().create(eventGeneratorProperties, myLogger);
         }
 
+        if (eventGenerator instanceof EventGeneratorStreaming) {
+            // pulled lazily by the event scheduler engine when the test starts, closed when all are scheduled or at shutdown
+            return new CustomEventStream(((EventGeneratorStreaming) eventGenerator)::stream);
+        }
+
         return eventGenerator.generate();
     }
 
@@ -16,48 +16,166 @@
 package io.perfana.eventscheduler;
 
 import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.CustomEventSchedulerType;
 import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.api.KeepAliveMetrics;
+import io.perfana.eventscheduler.api.KeepAliveOverrunPolicy;
 import io.perfana.eventscheduler.api.SchedulerExceptionHandler;
 import io.perfana.eventscheduler.api.SchedulerExceptionType;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import io.perfana.eventscheduler.exception.handler.SchedulerHandlerException;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 class EventSchedulerEngine {
 
+    private static final int CUSTOM_EVENT_THREAD_COUNT = 2;
+    private static final long TIMING_WHEEL_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int TIMING_WHEEL_SIZE = 512;
+    static final Duration DEFAULT_CUSTOM_EVENT_SCHEDULE_WINDOW = Duration.ofSeconds(60);
+
     private final EventLogger logger;
+    private final CustomEventSchedulerType customEventSchedulerType;
+    // how far ahead streamed custom events are scheduled
+    private final long customEventScheduleWindowNanos;
+    // custom events that fire within this window after the first event of a batch are broadcast as one batch
+    private final long customEventBatchWindowNanos;
 
     private ScheduledExecutorService executorKeepAlive;
-    private ScheduledExecutorService executorCustomEvents;
+    private CustomEventScheduler executorCustomEvents;
+    // source of the streamed custom events, closed when all are scheduled or at shutdown
+    private volatile AutoCloseable customEventSource;
+
+    // keep-alive tick counters, only updated from the keep alive thread
+    private final AtomicLong keepAliveTickCount = new AtomicLong();
+    private final AtomicLong keepAliveOverrunCount = new AtomicLong();
+    private final AtomicLong keepAliveSkippedTickCount = new AtomicLong();
+    private final AtomicLong keepAliveTotalLatenessNanos = new AtomicLong();
+    private final AtomicLong keepAliveMaxLatenessNanos = new AtomicLong();
 
     EventSchedulerEngine(EventLogger logger) {
+        this(logger, CustomEventSchedulerType.EXECUTOR);
+    }
+
+    EventSchedulerEngine(EventLogger logger, CustomEventSchedulerType customEventSchedulerType) {
+        this(logger, customEventSchedulerType, DEFAULT_CUSTOM_EVENT_SCHEDULE_WINDOW);
+    }
+
+    EventSchedulerEngine(EventLogger logger, CustomEventSchedulerType customEventSchedulerType, Duration customEventScheduleWindow) {
+        this(logger, customEventSchedulerType, customEventScheduleWindow, Duration.ZERO);
+    }
+
+    EventSchedulerEngine(EventLogger logger, CustomEventSchedulerType customEventSchedulerType, Duration customEventScheduleWindow, Duration customEventBatchWindow) {
         if (logger == null) {
             throw new EventSchedulerRuntimeException("logger is null");
         }
         this.logger = logger;
+        this.customEventSchedulerType = customEventSchedulerType == null ? CustomEventSchedulerType.EXECUTOR : customEventSchedulerType;
+        this.customEventScheduleWindowNanos = customEventScheduleWindow.toNanos();
+        this.customEventBatchWindowNanos = customEventBatchWindow == null ? 0 : Math.max(0, customEventBatchWindow.toNanos());
     }
 
     void startKeepAliveThread(String name, Duration keepAliveDuration, EventBroadcaster broadcaster, SchedulerExceptionHandler schedulerExceptionHandler) {
+        startKeepAliveThread(name, keepAliveDuration, KeepAliveOverrunPolicy.CATCH_UP, broadcaster, schedulerExceptionHandler);
+    }
+
+    void startKeepAliveThread(String name, Duration keepAliveDuration, KeepAliveOverrunPolicy overrunPolicy, EventBroadcaster broadcaster, SchedulerExceptionHandler schedulerExceptionHandler) {
         nullChecks(name, broadcaster);
 
         if (executorKeepAlive != null) {
             throw new RuntimeException("cannot start keep alive thread multiple times!");
         }
 
-        logger.info(String.format("calling keep alive every %s", keepAliveDuration));
+        if (keepAliveDuration == null || keepAliveDuration.isNegative() || keepAliveDuration.isZero()) {
+            throw new EventSchedulerRuntimeException("keep alive interval should be larger than zero: " + keepAliveDuration);
+        }
+
+        KeepAliveOverrunPolicy policy = overrunPolicy == null ? KeepAliveOverrunPolicy.CATCH_UP : overrunPolicy;
+
+        logger.info(String.format("calling keep alive every %s (overrun policy: %s)", keepAliveDuration, policy));
 
         executorKeepAlive = createKeepAliveScheduler();
-        
-        KeepAliveRunner keepAliveRunner = new KeepAliveRunner(name, broadcaster, schedulerExceptionHandler);
-        executorKeepAlive.scheduleAtFixedRate(keepAliveRunner, 0, keepAliveDuration.getSeconds(), TimeUnit.SECONDS);
+        resetKeepAliveCounters();
+
+        long intervalNanos = keepAliveDuration.toNanos();
+        KeepAliveRunner keepAliveRunner = new KeepAliveRunner(name, broadcaster, schedulerExceptionHandler, executorKeepAlive, intervalNanos, policy);
+        if (policy == KeepAliveOverrunPolicy.CATCH_UP) {
+            executorKeepAlive.scheduleAtFixedRate(keepAliveRunner, 0, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+        else if (policy == KeepAliveOverrunPolicy.FIXED_DELAY) {
+            executorKeepAlive.scheduleWithFixedDelay(keepAliveRunner, 0, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+        else {
+            // SKIP: the runner schedules its own next tick
+            executorKeepAlive.schedule(keepAliveRunner, 0, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void resetKeepAliveCounters() {
+        keepAliveTickCount.set(0);
+        keepAliveOverrunCount.set(0);
+        keepAliveSkippedTickCount.set(0);
+        keepAliveTotalLatenessNanos.set(0);
+        keepAliveMaxLatenessNanos.set(0);
+    }
+
+    /**
+     * @return number of keep-alive ticks that have run
+     */
+    long getKeepAliveTickCount() {
+        return keepAliveTickCount.get();
+    }
+
+    /**
+     * @return number of keep-alive ticks that took longer than the keep-alive interval
+     */
+    long getKeepAliveOverrunCount() {
+        return keepAliveOverrunCount.get();
+    }
+
+    /**
+     * @return number of keep-alive ticks that were skipped because of overruns, only for overrun policy SKIP
+     */
+    long getKeepAliveSkippedTickCount() {
+        return keepAliveSkippedTickCount.get();
+    }
+
+    /**
+     * @return max time a keep-alive tick started later than planned
+     */
+    Duration getKeepAliveMaxLateness() {
+        return Duration.ofNanos(keepAliveMaxLatenessNanos.get());
+    }
+
+    /**
+     * @return average time a keep-alive tick started later than planned
+     */
+    Duration getKeepAliveAverageLateness() {
+        long ticks = keepAliveTickCount.get();
+        return ticks == 0 ? Duration.ZERO : Duration.ofNanos(keepAliveTotalLatenessNanos.get() / ticks);
+    }
+
+    /**
+     * @return the keep-alive tick counters, since the start of the keep-alive
+     */
+    KeepAliveMetrics getKeepAliveMetrics() {
+        return KeepAliveMetrics.builder()
+            .tickCount(getKeepAliveTickCount())
+            .overrunCount(getKeepAliveOverrunCount())
+            .skippedTickCount(getKeepAliveSkippedTickCount())
+            .averageLateness(getKeepAliveAverageLateness())
+            .maxLateness(getKeepAliveMaxLateness())
+            .build();
     }
 
     private void nullChecks(EventBroadcaster broadcaster) {
@@ -73,12 +191,45 @@ class EventSchedulerEngine {
         nullChecks(broadcaster);
     }
 
-    private void addToExecutor(ScheduledExecutorService executorService, CustomEvent event, EventBroadcaster broadcaster) {
-        executorService.schedule(new EventRunner(event, broadcaster), event.getDuration().getSeconds(), TimeUnit.SECONDS);
+    /**
+     * The batch fires at the time of its first custom event.
+     */
+    private void addToExecutor(CustomEventScheduler scheduler, long startNanos, List<CustomEvent> batch, EventBroadcaster broadcaster) {
+        scheduler.schedule(new EventRunner(batch, broadcaster), startNanos + batch.get(0).getDuration().toNanos());
+    }
+
+    private boolean isInBatch(long batchNanos, CustomEvent event) {
+        long afterBatchNanos = event.getDuration().toNanos() - batchNanos;
+        return afterBatchNanos >= 0 && afterBatchNanos <= customEventBatchWindowNanos;
+    }
+
+    /**
+     * Group the custom events that fire at the same time, or within the batch window, in schedule order.
+     */
+    List<List<CustomEvent>> createBatches(Collection<CustomEvent> scheduleEvents) {
+        List<CustomEvent> sortedEvents = new ArrayList<>(scheduleEvents);
+        // stable sort, events at the same time keep their schedule order
+        sortedEvents.sort(Comparator.comparing(CustomEvent::getDuration));
+
+        List<List<CustomEvent>> batches = new ArrayList<>();
+        List<CustomEvent> batch = null;
+        long batchNanos = 0;
+        for (CustomEvent event : sortedEvents) {
+            if (batch == null || !isInBatch(batchNanos, event)) {
+                batch = new ArrayList<>(1);
+                batchNanos = event.getDuration().toNanos();
+                batches.add(batch);
+            }
+            batch.add(event);
+        }
+        return batches;
     }
 
     void shutdownThreads() {
         if (executorKeepAlive != null) {
+            logger.info(String.format("keep alive ticks: %d, overruns: %d, skipped ticks: %d, average lateness: %s, max lateness: %s",
+                getKeepAliveTickCount(), getKeepAliveOverrunCount(), getKeepAliveSkippedTickCount(),
+                getKeepAliveAverageLateness(), getKeepAliveMaxLateness()));
             logger.info("shutdown KeepAlive Executor threads");
             List<Runnable> runnables = executorKeepAlive.shutdownNow();
             logger.info("executorKeepAlive shutdown, remaining tasks that got force shutdown: " + runnables.size());
@@ -97,40 +248,100 @@ class EventSchedulerEngine {
         if (executorCustomEvents != null) {
             waitForShutdown(executorCustomEvents, "executorCustomEvents");
         }
+        // the feeder does not run anymore
+        closeCustomEventSource();
 
         executorKeepAlive = null;
         executorCustomEvents = null;
     }
 
     private void waitForShutdown(ScheduledExecutorService executor, String executorName) {
+        waitForShutdown(executor::awaitTermination, executor::shutdownNow, executorName);
+    }
+
+    private void waitForShutdown(CustomEventScheduler scheduler, String executorName) {
+        waitForShutdown(scheduler::awaitTermination, scheduler::shutdownNow, executorName);
+    }
+
+    private void waitForShutdown(AwaitTermination awaitTermination, Supplier<List<Runnable>> shutdownNow, String executorName) {
         try {
-            boolean terminatedWithoutTimeout = executor.awaitTermination(20, TimeUnit.SECONDS);
+            boolean terminatedWithoutTimeout = awaitTermination.await(20, TimeUnit.SECONDS);
             if (!terminatedWithoutTimeout) {
                 logger.warn(executorName + " did not shutdown in time, force shutdown");
-                forceShutdownNowWithMessage(executor, executorName);
+                forceShutdownNowWithMessage(shutdownNow, executorName);
             }
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             logger.warn(executorName + " awaitTermination was interrupted, force shutdown");
-            forceShutdownNowWithMessage(executor, executorName);
+            forceShutdownNowWithMessage(shutdownNow, executorName);
         }
     }
 
-    private void forceShutdownNowWithMessage(ScheduledExecutorService executor, String executorCustomEventsName) {
-        List<Runnable> runnables = executor.shutdownNow();
+    private void forceShutdownNowWithMessage(Supplier<List<Runnable>> shutdownNow, String executorCustomEventsName) {
+        List<Runnable> runnables = shutdownNow.get();
         logger.warn(executorCustomEventsName + " force shutdown, remaining tasks that got force shutdown: " + runnables.size());
         runnables.forEach(runnable -> logger.warn("force shutdown task: " + runnable));
     }
 
-    void startCustomEventScheduler(Collection<CustomEvent> scheduleEvents, EventBroadcaster broadcaster) {
+    @FunctionalInterface
+    private interface AwaitTermination {
+        boolean await(long timeout, TimeUnit unit) throws InterruptedException;
+    }
+
+    /**
+     * A collection of custom events is scheduled at once. Any other iterable is pulled lazily while the
+     * test runs: only the events within the schedule window ahead are scheduled, so these events must
+     * be ordered by duration.
+     */
+    void startCustomEventScheduler(Iterable<CustomEvent> scheduleEvents, EventBroadcaster broadcaster) {
         nullChecks(broadcaster);
 
-        if (!(scheduleEvents == null || scheduleEvents.isEmpty())) {
+        if (scheduleEvents instanceof Collection) {
+            scheduleAllCustomEvents((Collection<CustomEvent>) scheduleEvents, broadcaster);
+            return;
+        }
+
+        if (scheduleEvents instanceof AutoCloseable) {
+            customEventSource = (AutoCloseable) scheduleEvents;
+        }
+        Iterator<CustomEvent> events = scheduleEvents == null ? Collections.emptyIterator() : scheduleEvents.iterator();
+        if (events.hasNext()) {
+            logger.info(String.format("=== streaming custom events schedule, scheduling %s ahead ===", Duration.ofNanos(customEventScheduleWindowNanos)));
+
+            executorCustomEvents = createCustomEventScheduler();
+            new CustomEventFeeder(events, executorCustomEvents, System.nanoTime(), broadcaster).run();
+        }
+        else {
+            logger.info("no custom schedule events found");
+            closeCustomEventSource();
+        }
+    }
+
+    private void closeCustomEventSource() {
+        AutoCloseable source = customEventSource;
+        customEventSource = null;
+        if (source != null) {
+            try {
+                source.close();
+            } catch (Exception e) {
+                logger.error("closing the streamed custom events failed", e);
+            }
+        }
+    }
+
+    private void scheduleAllCustomEvents(Collection<CustomEvent> scheduleEvents, EventBroadcaster broadcaster) {
+        if (!scheduleEvents.isEmpty()) {
 
             logger.info(createEventScheduleMessage(scheduleEvents));
 
             executorCustomEvents = createCustomEventScheduler();
-            scheduleEvents.forEach(event -> addToExecutor(executorCustomEvents, event, broadcaster));
+            // all events are relative to the same start time, so the time it takes to schedule does not add up
+            List<List<CustomEvent>> batches = createBatches(scheduleEvents);
+            if (batches.size() < scheduleEvents.size()) {
+                logger.info("batched " + scheduleEvents.size() + " custom events into " + batches.size() + " broadcasts");
+            }
+            long startNanos = System.nanoTime();
+            batches.forEach(batch -> addToExecutor(executorCustomEvents, startNanos, batch, broadcaster));
         }
         else {
             logger.info("no custom schedule events found");
@@ -154,8 +365,8 @@ class EventSchedulerEngine {
         });
     }
 
-    private ScheduledExecutorService createCustomEventScheduler() {
-        return Executors.newScheduledThreadPool(2, new ThreadFactory() {
+    private CustomEventScheduler createCustomEventScheduler() {
+        ThreadFactory threadFactory = new ThreadFactory() {
             private final AtomicInteger threadCount = new AtomicInteger(0);
             @Override
             public Thread newThread(Runnable r) {
@@ -163,7 +374,13 @@ class EventSchedulerEngine {
                 logger.info("create new thread: " + threadName);
                 return new Thread(r, threadName);
             }
-        });
+        };
+        if (customEventSchedulerType == CustomEventSchedulerType.TIMING_WHEEL) {
+            logger.info("create new thread: Custom-Event-Timer");
+            return new CustomEventSchedulerTimingWheel(TIMING_WHEEL_TICK_NANOS, TIMING_WHEEL_SIZE,
+                Executors.newFixedThreadPool(CUSTOM_EVENT_THREAD_COUNT, threadFactory), "Custom-Event-Timer");
+        }
+        return new CustomEventSchedulerExecutor(CUSTOM_EVENT_THREAD_COUNT, threadFactory);
     }
     
     class KeepAliveRunner implements Runnable {
@@ -171,15 +388,33 @@ class EventSchedulerEngine {
         private final String name;
         private final EventBroadcaster broadcaster;
         private final SchedulerExceptionHandler schedulerExceptionHandler;
-
-        KeepAliveRunner(String name, EventBroadcaster broadcaster, SchedulerExceptionHandler schedulerExceptionHandler) {
+        private final ScheduledExecutorService executor;
+        private final long intervalNanos;
+        private final KeepAliveOverrunPolicy overrunPolicy;
+        // planned start time of the next tick, in System.nanoTime() terms
+        private long nextTickNanos;
+
+        KeepAliveRunner(String name, EventBroadcaster broadcaster, SchedulerExceptionHandler schedulerExceptionHandler,
+                        ScheduledExecutorService executor, long intervalNanos, KeepAliveOverrunPolicy overrunPolicy) {
             this.name = name;
             this.broadcaster = broadcaster;
             this.schedulerExceptionHandler = schedulerExceptionHandler;
+            this.executor = executor;
+            this.intervalNanos = intervalNanos;
+            this.overrunPolicy = overrunPolicy;
+            this.nextTickNanos = System.nanoTime();
         }
 
         @Override
         public void run() {
+            long startNanos = System.nanoTime();
+            long latenessNanos = Math.max(0, startNanos - nextTickNanos);
+            keepAliveTickCount.incrementAndGet();
+            keepAliveTotalLatenessNanos.addAndGet(latenessNanos);
+            if (latenessNanos > keepAliveMaxLatenessNanos.get()) {
+                keepAliveMaxLatenessNanos.set(latenessNanos);
+            }
+
             try {
                 broadcaster.broadcastKeepAlive();
             } catch (SchedulerHandlerException e) {
@@ -187,6 +422,34 @@ class EventSchedulerEngine {
             } catch (Exception e) {
                 logger.error("Broadcast keep-alive failed", e);
             }
+
+            long endNanos = System.nanoTime();
+            if (endNanos - startNanos > intervalNanos) {
+                keepAliveOverrunCount.incrementAndGet();
+            }
+            scheduleNextTick(endNanos);
+        }
+
+        private void scheduleNextTick(long endNanos) {
+            if (overrunPolicy == KeepAliveOverrunPolicy.FIXED_DELAY) {
+                nextTickNanos = endNanos + intervalNanos;
+                return;
+            }
+            nextTickNanos += intervalNanos;
+            if (overrunPolicy == KeepAliveOverrunPolicy.SKIP) {
+                if (nextTickNanos - endNanos < 0) {
+                    long missedTicks = (endNanos - nextTickNanos) / intervalNanos + 1;
+                    keepAliveSkippedTickCount.addAndGet(missedTicks);
+                    nextTickNanos += missedTicks * intervalNanos;
+                }
+                if (!executor.isShutdown()) {
+                    try {
+                        executor.schedule(this, nextTickNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    } catch (RejectedExecutionException e) {
+                        logger.debug("keep alive executor is shut down, no next keep alive tick");
+                    }
+                }
+            }
         }
 
         private void handleException(SchedulerHandlerException e) {
@@ -215,21 +478,102 @@ class EventSchedulerEngine {
         }
     }
 
+    /**
+     * Schedules the streamed custom events that are within the schedule window ahead, then schedules
+     * itself to run again when the next event gets within half the window.
+     */
+    class CustomEventFeeder implements Runnable {
+
+        private final Iterator<CustomEvent> events;
+        private final CustomEventScheduler scheduler;
+        private final long startNanos;
+        private final EventBroadcaster broadcaster;
+        private CustomEvent nextEvent;
+        private Duration previousDuration = Duration.ZERO;
+
+        CustomEventFeeder(Iterator<CustomEvent> events, CustomEventScheduler scheduler, long startNanos, EventBroadcaster broadcaster) {
+            this.events = events;
+            this.scheduler = scheduler;
+            this.startNanos = startNanos;
+            this.broadcaster = broadcaster;
+            this.nextEvent = pullNextEvent();
+        }
+
+        @Override
+        public void run() {
+            try {
+                long horizonNanos = System.nanoTime() + customEventScheduleWindowNanos;
+                while (nextEvent != null && startNanos + nextEvent.getDuration().toNanos() - horizonNanos <= 0) {
+                    addToExecutor(scheduler, startNanos, pullNextBatch(), broadcaster);
+                }
+                if (nextEvent != null) {
+                    scheduler.schedule(this, startNanos + nextEvent.getDuration().toNanos() - customEventScheduleWindowNanos / 2);
+                }
+                else {
+                    logger.info("all streamed custom events are scheduled");
+                    closeCustomEventSource();
+                }
+            } catch (RejectedExecutionException e) {
+                logger.debug("custom event scheduler is shut down, stop scheduling streamed custom events");
+            } catch (Exception e) {
+                logger.error("Streaming custom events failed, no more custom events will be scheduled", e);
+                closeCustomEventSource();
+            }
+        }
+
+        /**
+         * The next event and the following events within the batch window, these can be beyond the horizon.
+         */
+        private List<CustomEvent> pullNextBatch() {
+            List<CustomEvent> batch = new ArrayList<>(1);
+            long batchNanos = nextEvent.getDuration().toNanos();
+            do {
+                batch.add(nextEvent);
+                nextEvent = pullNextEvent();
+            } while (nextEvent != null && isInBatch(batchNanos, nextEvent));
+            return batch;
+        }
+
+        private CustomEvent pullNextEvent() {
+            if (!events.hasNext()) {
+                return null;
+            }
+            CustomEvent event = events.next();
+            if (event.getDuration().compareTo(previousDuration) < 0) {
+                logger.warn("streamed custom event is out of order, it will be fired as soon as possible: " + event);
+            }
+            else {
+                previousDuration = event.getDuration();
+            }
+            return event;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CustomEventFeeder, next event %s", nextEvent);
+        }
+    }
+
     class EventRunner implements Runnable {
 
-        private final CustomEvent event;
+        private final List<CustomEvent> events;
 
         private final EventBroadcaster eventBroadcaster;
 
-        public EventRunner(CustomEvent event, EventBroadcaster eventBroadcaster) {
-            this.event = event;
+        public EventRunner(List<CustomEvent> events, EventBroadcaster eventBroadcaster) {
+            this.events = events;
             this.eventBroadcaster = eventBroadcaster;
         }
 
         @Override
         public void run() {
             try {
-                eventBroadcaster.broadcastCustomEvent(event);
+                if (events.size() == 1) {
+                    eventBroadcaster.broadcastCustomEvent(events.get(0));
+                }
+                else {
+                    eventBroadcaster.broadcastCustomEvents(events);
+                }
             } catch (Exception e) {
                 logger.error("Broadcast custom event failed", e);
             }
@@ -237,7 +581,9 @@ class EventSchedulerEngine {
 
         @Override
         public String toString() {
-            return String.format("EventRunner for event %s", event);
+            return events.size() == 1
+                ? String.format("EventRunner for event %s", events.get(0))
+                : String.format("EventRunner for %d events %s", events.size(), events);
         }
     }
 
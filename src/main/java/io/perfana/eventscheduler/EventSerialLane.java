@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the tasks of one event one by one, in submit order, on a shared executor.
+ * <br/>
+ * The tasks wait in a mailbox and at most one drain task per lane is on the shared executor,
+ * so different lanes still run in parallel.
+ * <br/>
+ * When the shared executor rejects the drain task, for instance after shutdown, the caller gets
+ * its own task rejected. The tasks that other callers already put in the mailbox were accepted:
+ * these still run, on the rejected thread, so they complete and release what they hold, such as bulkhead permits.
+ */
+@ThreadSafe
+class EventSerialLane implements Executor {
+
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final Runnable drainTask = this::drain;
+
+    EventSerialLane(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        mailbox.add(task);
+        schedule(task);
+    }
+
+    /**
+     * @param task the task of the caller, null when called from the drain task
+     */
+    private void schedule(Runnable task) {
+        if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(drainTask);
+            } catch (RejectedExecutionException e) {
+                boolean rejectTask = task != null && mailbox.remove(task);
+                drain();
+                if (rejectTask) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = mailbox.poll()) != null) {
+                task.run();
+            }
+        } finally {
+            scheduled.set(false);
+            // a task can be added after the last poll, but before scheduled is reset
+            schedule(null);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import io.perfana.eventscheduler.api.Event;
+import io.perfana.eventscheduler.api.KeepAliveResult;
+import io.perfana.eventscheduler.api.KeepAliveResultEvent;
+import io.perfana.eventscheduler.api.SchedulerExceptionType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keep alive call of one event for the broadcasters.
+ */
+final class KeepAliveCall {
+
+    private KeepAliveCall() {}
+
+    /**
+     * A {@link KeepAliveResultEvent} stop test run vote is counted, no exception is created.
+     * A kill switch or abort result ends the test run, so it is thrown as exception like from keepAlive().
+     * Other events are called via keepAlive().
+     */
+    static void callKeepAlive(Event event, AtomicInteger stopTestRunVotes) {
+        if (!(event instanceof KeepAliveResultEvent)) {
+            event.keepAlive();
+            return;
+        }
+        KeepAliveResult result = ((KeepAliveResultEvent) event).keepAliveWithResult();
+        if (result == null || result.isContinue()) {
+            return;
+        }
+        if (result.getType() == SchedulerExceptionType.STOP) {
+            stopTestRunVotes.incrementAndGet();
+            return;
+        }
+        throw result.toException();
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Virtual threads are available from java 21. This is the java 11 version that reports
+ * virtual threads are not supported. The multi-release jar contains the java 21 version
+ * in META-INF/versions/21.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * @param namePrefix prefix for the names of the virtual threads
+     * @return null, virtual threads are not supported in this java version
+     */
+    static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+/**
+ * What to do with a custom event call when an event already has its max number of calls in flight.
+ */
+public enum BulkheadOverflowPolicy {
+    /**
+     * Queue the call, reject the call when the queue of the event is full.
+     */
+    REJECT,
+    /**
+     * Like REJECT, but skip the call when a call for a custom event with the same name is already queued for the event.
+     */
+    COALESCE
+}
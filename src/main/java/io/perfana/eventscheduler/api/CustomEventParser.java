@@ -0,0 +1,377 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import io.perfana.eventscheduler.api.CustomEvent.ScheduleEventWrongFormat;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Single pass parser for custom event schedules in the <code>duration|event-name(description)|settings</code>
+ * format of {@link CustomEvent#createFromLine(String)}, without regular expressions.
+ * <br/>
+ * Per schedule line, the line is trimmed and empty lines, comment lines (start with #) and
+ * meta property lines (start with @) are skipped. Format errors report the line and column, counted from
+ * the start of the line in the schedule.
+ * <br/>
+ * The common durations like PT1H2M3.5S are parsed directly, other ISO-8601 durations via {@link Duration#parse(CharSequence)}.
+ */
+public final class CustomEventParser {
+
+    private static final char SEPARATOR = '|';
+    // more digits can overflow a long
+    private static final int MAX_DURATION_DIGITS = 18;
+
+    private CustomEventParser() {
+    }
+
+    /**
+     * Parse one line, with the same result as {@link CustomEvent#createFromLine(String)}: the same custom event,
+     * or the same exception type. The exception messages also contain the line and column.
+     * <br/>
+     * One difference: a ')' before the '(' in the name throws an EventSchedulerRuntimeException,
+     * where createFromLine throws a StringIndexOutOfBoundsException.
+     */
+    public static CustomEvent parseLine(CharSequence line) {
+        if (line == null || isBlank(line, 0, line.length())) {
+            throw new ScheduleEventWrongFormat("empty line: [" + line + "]");
+        }
+        return parseLine(line, 0, line.length(), 0, 1);
+    }
+
+    /**
+     * Parse all custom events of a schedule.
+     */
+    public static List<CustomEvent> parse(CharSequence schedule) {
+        List<CustomEvent> events = new ArrayList<>();
+        int length = schedule.length();
+        int lineStart = 0;
+        int lineNumber = 1;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && schedule.charAt(lineEnd) != '\n' && schedule.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            CustomEvent event = parseScheduleLine(schedule, lineStart, lineEnd, lineNumber);
+            if (event != null) {
+                events.add(event);
+            }
+            lineStart = lineEnd;
+            // \r\n, \n or \r
+            if (lineStart < length && schedule.charAt(lineStart) == '\r') {
+                lineStart++;
+            }
+            if (lineStart < length && schedule.charAt(lineStart) == '\n') {
+                lineStart++;
+            }
+            lineNumber++;
+        }
+        return events;
+    }
+
+    /**
+     * Parse the custom events of a schedule while the stream is consumed. Close the stream to close the reader.
+     */
+    public static Stream<CustomEvent> stream(Reader schedule) {
+        BufferedReader reader = schedule instanceof BufferedReader ? (BufferedReader) schedule : new BufferedReader(schedule);
+        Iterator<CustomEvent> events = new Iterator<CustomEvent>() {
+            private int lineNumber = 0;
+            private CustomEvent next;
+
+            @Override
+            public boolean hasNext() {
+                try {
+                    while (next == null) {
+                        String line = reader.readLine();
+                        if (line == null) {
+                            return false;
+                        }
+                        lineNumber++;
+                        next = parseScheduleLine(line, 0, line.length(), lineNumber);
+                    }
+                    return true;
+                } catch (IOException e) {
+                    throw new UncheckedIOException("cannot read custom events schedule", e);
+                }
+            }
+
+            @Override
+            public CustomEvent next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                CustomEvent event = next;
+                next = null;
+                return event;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(events, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("cannot close custom events schedule", e);
+                }
+            });
+    }
+
+    /**
+     * @return null for empty, comment and meta property lines
+     */
+    private static CustomEvent parseScheduleLine(CharSequence text, int start, int end, int lineNumber) {
+        int trimmedStart = skipWhitespace(text, start, end);
+        int trimmedEnd = skipTrailingWhitespace(text, trimmedStart, end);
+        if (trimmedStart == trimmedEnd) {
+            return null;
+        }
+        char first = text.charAt(trimmedStart);
+        if (first == '#' || first == '@') {
+            return null;
+        }
+        return parseLine(text, trimmedStart, trimmedEnd, start, lineNumber);
+    }
+
+    /**
+     * Same split as createFromLine: trailing empty elements are ignored, all elements are trimmed.
+     * @param lineStart start of the line in the text, columns are counted from there
+     */
+    private static CustomEvent parseLine(CharSequence text, int start, int end, int lineStart, int lineNumber) {
+        int separator1 = indexOf(text, SEPARATOR, start, end);
+        if (separator1 == -1) {
+            throw wrongFormat(lineNumber, start - lineStart + 1, "line should contain at least a duration and event name, separated by '|'", text, start, end);
+        }
+
+        int elementsEnd = end;
+        while (elementsEnd > start && text.charAt(elementsEnd - 1) == SEPARATOR) {
+            elementsEnd--;
+        }
+
+        separator1 = indexOf(text, SEPARATOR, start, elementsEnd);
+        int separator2 = separator1 == -1 ? -1 : indexOf(text, SEPARATOR, separator1 + 1, elementsEnd);
+        if (separator1 == -1 || (separator2 != -1 && indexOf(text, SEPARATOR, separator2 + 1, elementsEnd) != -1)) {
+            throw wrongFormat(lineNumber, start - lineStart + 1, "Wrong number of elements in line, expected 'duration|name(description)|setting' " +
+                "where (description) and settings are optional", text, start, end);
+        }
+
+        int nameEnd = separator2 == -1 ? elementsEnd : separator2;
+        int nameStart = skipWhitespace(text, separator1 + 1, nameEnd);
+        nameEnd = skipTrailingWhitespace(text, nameStart, nameEnd);
+
+        String name;
+        String description;
+        int indexOpen = indexOf(text, '(', nameStart, nameEnd);
+        if (indexOpen == -1) {
+            name = text.subSequence(nameStart, nameEnd).toString();
+            description = "";
+        }
+        else {
+            int indexClose = lastIndexOf(text, ')', nameStart, nameEnd);
+            if (indexClose < indexOpen) {
+                // same exception type as createFromLine
+                throw new EventSchedulerRuntimeException(String.format("line %d, column %d: closing parentheses ')' is missing in '%s'",
+                    lineNumber, indexOpen - lineStart + 1, text.subSequence(nameStart, nameEnd)));
+            }
+            name = sanitize(text, nameStart, skipTrailingWhitespace(text, nameStart, indexOpen));
+            int descriptionStart = skipWhitespace(text, indexOpen + 1, indexClose);
+            description = sanitize(text, descriptionStart, skipTrailingWhitespace(text, descriptionStart, indexClose));
+        }
+
+        int durationStart = skipWhitespace(text, start, separator1);
+        int durationEnd = skipTrailingWhitespace(text, durationStart, separator1);
+        Duration duration = parseDuration(text, durationStart, durationEnd, lineNumber, durationStart - lineStart + 1, start, end);
+
+        if (separator2 == -1) {
+            return new CustomEvent(duration, name, description);
+        }
+        int settingsStart = skipWhitespace(text, separator2 + 1, elementsEnd);
+        int settingsEnd = skipTrailingWhitespace(text, settingsStart, elementsEnd);
+        return new CustomEvent(duration, name, description, text.subSequence(settingsStart, settingsEnd).toString());
+    }
+
+    /**
+     * Parses PT[nH][nM][n[.n]S] directly, other durations with Duration.parse.
+     */
+    private static Duration parseDuration(CharSequence text, int start, int end, int lineNumber, int column, int lineStart, int lineEnd) {
+        try {
+            Duration duration = parseSimpleDuration(text, start, end);
+            if (duration != null) {
+                return duration;
+            }
+        } catch (ArithmeticException e) {
+            // too large, let Duration.parse report it
+        }
+        try {
+            return Duration.parse(text.subSequence(start, end));
+        } catch (DateTimeParseException e) {
+            throw new ScheduleEventWrongFormat(String.format("line %d, column %d: Failed to parse duration: [%s] from line: [%s]",
+                lineNumber, column, text.subSequence(start, end), text.subSequence(lineStart, lineEnd)), e);
+        }
+    }
+
+    /**
+     * @return null if not in the simple format
+     */
+    private static Duration parseSimpleDuration(CharSequence text, int start, int end) {
+        if (end - start < 4 || text.charAt(start) != 'P' || text.charAt(start + 1) != 'T') {
+            return null;
+        }
+        long seconds = 0;
+        long nanos = 0;
+        // H, M, S have to be in that order
+        int unitOrder = 0;
+        int index = start + 2;
+        while (index < end) {
+            int digitsStart = index;
+            long value = 0;
+            while (index < end && isDigit(text.charAt(index))) {
+                value = value * 10 + (text.charAt(index) - '0');
+                index++;
+            }
+            int digits = index - digitsStart;
+            if (digits == 0 || digits > MAX_DURATION_DIGITS || index == end) {
+                return null;
+            }
+            char unit = text.charAt(index);
+            if (unit == 'H' && unitOrder < 1) {
+                unitOrder = 1;
+                seconds = Math.addExact(seconds, Math.multiplyExact(value, 3600));
+            }
+            else if (unit == 'M' && unitOrder < 2) {
+                unitOrder = 2;
+                seconds = Math.addExact(seconds, Math.multiplyExact(value, 60));
+            }
+            else if (unit == 'S' && unitOrder < 3) {
+                unitOrder = 3;
+                seconds = Math.addExact(seconds, value);
+            }
+            else if (unit == '.' && unitOrder < 3) {
+                // fraction of seconds, up to 9 digits
+                index++;
+                int fractionStart = index;
+                while (index < end && isDigit(text.charAt(index)) && index - fractionStart < 9) {
+                    nanos = nanos * 10 + (text.charAt(index) - '0');
+                    index++;
+                }
+                int fractionDigits = index - fractionStart;
+                if (fractionDigits == 0 || index == end || text.charAt(index) != 'S') {
+                    return null;
+                }
+                for (int i = fractionDigits; i < 9; i++) {
+                    nanos *= 10;
+                }
+                unitOrder = 3;
+                seconds = Math.addExact(seconds, value);
+            }
+            else {
+                return null;
+            }
+            index++;
+        }
+        return Duration.ofSeconds(seconds, nanos);
+    }
+
+    /**
+     * Replace all characters except letters, digits and '-', ' ', '%', '+', '=' and ':' with '_'.
+     * Only creates a new string for the replaced characters.
+     */
+    private static String sanitize(CharSequence text, int start, int end) {
+        int index = start;
+        while (index < end && isAllowed(text.charAt(index))) {
+            index++;
+        }
+        if (index == end) {
+            return text.subSequence(start, end).toString();
+        }
+        StringBuilder sanitized = new StringBuilder(end - start);
+        sanitized.append(text, start, index);
+        while (index < end) {
+            char c = text.charAt(index);
+            if (isAllowed(c)) {
+                sanitized.append(c);
+            }
+            else {
+                sanitized.append('_');
+                // one replacement for a surrogate pair, like the regular expression of createFromLine
+                if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(text.charAt(index + 1))) {
+                    index++;
+                }
+            }
+            index++;
+        }
+        return sanitized.toString();
+    }
+
+    private static boolean isAllowed(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c)
+            || c == '-' || c == ' ' || c == '%' || c == '+' || c == '=' || c == ':';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int indexOf(CharSequence text, char c, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(CharSequence text, char c, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (text.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whitespace as in String.trim().
+     */
+    private static int skipWhitespace(CharSequence text, int start, int end) {
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int skipTrailingWhitespace(CharSequence text, int start, int end) {
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isBlank(CharSequence text, int start, int end) {
+        return skipWhitespace(text, start, end) == end;
+    }
+
+    private static ScheduleEventWrongFormat wrongFormat(int lineNumber, int column, String message, CharSequence text, int start, int end) {
+        return new ScheduleEventWrongFormat(String.format("line %d, column %d: %s: [%s]", lineNumber, column, message, text.subSequence(start, end)));
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+/**
+ * The scheduler implementation used to fire the custom events at their time.
+ */
+public enum CustomEventSchedulerType {
+    /**
+     * Each custom event is a task in a scheduled thread pool.
+     */
+    EXECUTOR,
+    /**
+     * All custom events are kept in a hashed timing wheel with a tick of one millisecond,
+     * with constant insert and expire costs for large schedules.
+     */
+    TIMING_WHEEL
+}
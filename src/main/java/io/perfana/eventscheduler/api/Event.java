@@ -17,6 +17,7 @@ package io.perfana.eventscheduler.api;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 /**
  * This interface can be implemented in other jars and be put on the classpath.
@@ -31,6 +32,11 @@ import java.util.Collections;
  */
 public interface Event {
 
+    /**
+     * Use in {@link #allowedCustomEvents()} to get all custom events when custom event routing is enabled.
+     */
+    String ALL_CUSTOM_EVENTS = "*";
+
     /**
      * @return name of the test event.
      */
@@ -77,6 +83,19 @@ public interface Event {
     void customEvent(CustomEvent scheduleEvent);
 
     /**
+     * Called for custom events that are scheduled at the same time, as one batch.
+     * Default implementation calls {@link #customEvent(CustomEvent)} for each custom event, in schedule order.
+     * @param scheduleEvents the custom events of the batch, at least two
+     */
+    default void customEvents(List<CustomEvent> scheduleEvents) {
+        for (CustomEvent scheduleEvent : scheduleEvents) {
+            customEvent(scheduleEvent);
+        }
+    }
+
+    /**
+     * With custom event routing enabled, only the custom events with these names are sent to this event.
+     * Use {@link #ALL_CUSTOM_EVENTS} to get all custom events. Without routing, all custom events are sent.
      * @return collection of strings for all allowed custom events
      */
     default Collection<String> allowedCustomEvents() {
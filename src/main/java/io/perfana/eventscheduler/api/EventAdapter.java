@@ -46,27 +46,27 @@ public abstract class EventAdapter<T extends EventContext> implements Event {
 
     @Override
     public void beforeTest() {
-        logger.debug(String.format("[%s] [%s] beforeTest (not implemented)", eventContext.getName(), this.getClass().getName()));
+        logger.debugLazy(() -> String.format("[%s] [%s] beforeTest (not implemented)", eventContext.getName(), this.getClass().getName()));
     }
 
     @Override
     public void startTest() {
-        logger.debug(String.format("[%s] [%s] startTest (not implemented)", eventContext.getName(), this.getClass().getName()));
+        logger.debugLazy(() -> String.format("[%s] [%s] startTest (not implemented)", eventContext.getName(), this.getClass().getName()));
     }
 
     @Override
     public void afterTest() {
-        logger.debug(String.format("[%s] [%s] afterTest (not implemented)", eventContext.getName(), this.getClass().getName()));
+        logger.debugLazy(() -> String.format("[%s] [%s] afterTest (not implemented)", eventContext.getName(), this.getClass().getName()));
     }
 
     @Override
     public void keepAlive() {
-        logger.debug(String.format("[%s] [%s] keepAlive (not implemented)", eventContext.getName(), this.getClass().getName()));
+        logger.debugLazy(() -> String.format("[%s] [%s] keepAlive (not implemented)", eventContext.getName(), this.getClass().getName()));
     }
 
     @Override
     public void abortTest() {
-        logger.debug(String.format("[%s] [%s] abortTest (not implemented)", eventContext.getName(), this.getClass().getName()));
+        logger.debugLazy(() -> String.format("[%s] [%s] abortTest (not implemented)", eventContext.getName(), this.getClass().getName()));
     }
 
     @Override
@@ -76,7 +76,7 @@ public abstract class EventAdapter<T extends EventContext> implements Event {
 
     @Override
     public void customEvent(CustomEvent customEvent) {
-        logger.debug(String.format("[%s] [%s] [%s] customEvent (not implemented)", eventContext.getName(), this.getClass().getName(), customEvent.getName()));
+        logger.debugLazy(() -> String.format("[%s] [%s] [%s] customEvent (not implemented)", eventContext.getName(), this.getClass().getName(), customEvent.getName()));
     }
 
     @Override
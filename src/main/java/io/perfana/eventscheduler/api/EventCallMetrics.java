@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Metrics of the calls of the broadcaster to one event in one phase.
+ */
+@Value
+@Builder
+public class EventCallMetrics {
+    String eventName;
+    EventPhase phase;
+    long callCount;
+    // failed calls and timed out calls, not the kill switch, abort or stop requests
+    long errorCount;
+    Duration mean;
+    Duration p50;
+    Duration p90;
+    Duration p99;
+    Duration max;
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Create a custom event schedule that is consumed lazily while the test runs.
+ *
+ * Use for very large or infinite schedules, e.g. continuously generated events in a multi-day soak test:
+ * only the events within a time window ahead are scheduled, the rest is pulled from the stream later.
+ */
+public interface EventGeneratorStreaming extends EventGenerator {
+
+    /**
+     * The events must be ordered by duration: an event that is out of order is fired as soon as possible.
+     * Called once per test run.
+     *
+     * @return the custom events ordered by duration, can be infinite
+     */
+    Stream<CustomEvent> stream();
+
+    /**
+     * Collects all events of the stream: do not use for infinite streams.
+     */
+    @Override
+    default List<CustomEvent> generate() {
+        return stream().collect(Collectors.toList());
+    }
+}
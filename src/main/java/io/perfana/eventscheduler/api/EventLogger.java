@@ -15,6 +15,8 @@
  */
 package io.perfana.eventscheduler.api;
 
+import java.util.function.Supplier;
+
 public interface EventLogger {
     void info(String message);
     void warn(String message);
@@ -23,4 +25,30 @@ public interface EventLogger {
     void debug(String message);
     boolean isDebugEnabled();
 
+    /**
+     * The message is only created when debug is enabled.
+     * Not an overload of debug, so debug(null) stays a call with a null String.
+     * @param message supplies the message, e.g. {@code () -> "found: " + items}
+     */
+    default void debugLazy(Supplier<String> message) {
+        if (isDebugEnabled()) {
+            debug(message.get());
+        }
+    }
+
+    /**
+     * Loggers that can disable the info level can override this method to skip creating the message.
+     * @param message supplies the message
+     */
+    default void infoLazy(Supplier<String> message) {
+        info(message.get());
+    }
+
+    /**
+     * Loggers that can disable the warn level can override this method to skip creating the message.
+     * @param message supplies the message
+     */
+    default void warnLazy(Supplier<String> message) {
+        warn(message.get());
+    }
 }
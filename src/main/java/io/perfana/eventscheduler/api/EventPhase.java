@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+/**
+ * The phases in which the events are called by the event broadcaster.
+ */
+public enum EventPhase {
+    BEFORE_TEST("before test"),
+    START_TEST("start test"),
+    KEEP_ALIVE("keep alive"),
+    CUSTOM_EVENT("custom event"),
+    CHECK("check"),
+    AFTER_TEST("after test"),
+    ABORT_TEST("abort test");
+
+    private final String description;
+
+    EventPhase(String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return readable name of the phase, for use in log lines
+     */
+    public String getDescription() {
+        return description;
+    }
+}
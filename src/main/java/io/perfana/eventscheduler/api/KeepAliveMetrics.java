@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Metrics of the keep alive ticks of the event scheduler.
+ */
+@Value
+@Builder
+public class KeepAliveMetrics {
+    long tickCount;
+    // ticks where the keep alive took longer than the interval
+    long overrunCount;
+    // missed ticks that were skipped, with the SKIP overrun policy
+    long skippedTickCount;
+    // how late the ticks started, compared to the planned start
+    Duration averageLateness;
+    Duration maxLateness;
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+/**
+ * What to do when a keep-alive broadcast takes longer than the keep-alive interval.
+ */
+public enum KeepAliveOverrunPolicy {
+    /**
+     * Keep the fixed rate, ticks that were missed during a slow broadcast are skipped.
+     */
+    SKIP,
+    /**
+     * Wait the keep-alive interval after the end of each broadcast.
+     */
+    FIXED_DELAY,
+    /**
+     * Keep the fixed rate, ticks that were missed during a slow broadcast run back to back.
+     */
+    CATCH_UP
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import io.perfana.eventscheduler.exception.handler.AbortSchedulerException;
+import io.perfana.eventscheduler.exception.handler.KillSwitchException;
+import io.perfana.eventscheduler.exception.handler.SchedulerHandlerException;
+import io.perfana.eventscheduler.exception.handler.StopTestRunException;
+
+import java.util.Objects;
+
+/**
+ * Result of a keep alive call of a {@link KeepAliveResultEvent}: continue, or a stop test run,
+ * kill switch or abort request. Same meaning as the StopTestRunException, KillSwitchException and
+ * AbortSchedulerException thrown from {@link Event#keepAlive()}, without creating an exception.
+ * <br/>
+ * Results are immutable, an event that votes the same every keep alive can reuse one result.
+ */
+public final class KeepAliveResult {
+
+    public static final KeepAliveResult CONTINUE = new KeepAliveResult(SchedulerExceptionType.NONE, "continue");
+
+    private final SchedulerExceptionType type;
+    private final String message;
+
+    private KeepAliveResult(SchedulerExceptionType type, String message) {
+        this.type = type;
+        this.message = message;
+    }
+
+    /**
+     * Vote to stop the test run, the test run stops when all continue on keep alive participants vote to stop.
+     */
+    public static KeepAliveResult stopTestRun(String message) {
+        return new KeepAliveResult(SchedulerExceptionType.STOP, message);
+    }
+
+    /**
+     * Stop the running test and trigger the registered kill handlers.
+     */
+    public static KeepAliveResult kill(String message) {
+        return new KeepAliveResult(SchedulerExceptionType.KILL, message);
+    }
+
+    /**
+     * Stop the scheduler and trigger the registered abort handlers.
+     */
+    public static KeepAliveResult abort(String message) {
+        return new KeepAliveResult(SchedulerExceptionType.ABORT, message);
+    }
+
+    public SchedulerExceptionType getType() {
+        return type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isContinue() {
+        return type == SchedulerExceptionType.NONE;
+    }
+
+    /**
+     * @return the exception with the same meaning as this result, null for continue
+     */
+    public SchedulerHandlerException toException() {
+        switch (type) {
+            case STOP:
+                return new StopTestRunException(message);
+            case KILL:
+                return new KillSwitchException(message);
+            case ABORT:
+                return new AbortSchedulerException(message);
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        KeepAliveResult that = (KeepAliveResult) o;
+        return type == that.type &&
+                Objects.equals(message, that.message);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, message);
+    }
+
+    @Override
+    public String toString() {
+        return "KeepAliveResult{" + "type=" + type +
+                ", message='" + message + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import io.perfana.eventscheduler.exception.handler.SchedulerHandlerException;
+
+/**
+ * Event that returns the outcome of a keep alive call as a {@link KeepAliveResult}, instead of throwing
+ * a StopTestRunException, KillSwitchException or AbortSchedulerException from {@link #keepAlive()}.
+ * <br/>
+ * The broadcasters call {@link #keepAliveWithResult()} instead of keepAlive() for these events.
+ * Use this for continue on keep alive participants that vote every keep alive for a long test run.
+ */
+public interface KeepAliveResultEvent extends Event {
+
+    /**
+     * Called for each keep alive event for this test run.
+     * @return the result of the keep alive, {@link KeepAliveResult#CONTINUE} to continue the test run
+     */
+    KeepAliveResult keepAliveWithResult();
+
+    /**
+     * Calls keepAliveWithResult() and throws the exception that matches the result, if any.
+     */
+    @Override
+    default void keepAlive() {
+        KeepAliveResult result = keepAliveWithResult();
+        SchedulerHandlerException exception = result == null ? null : result.toException();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
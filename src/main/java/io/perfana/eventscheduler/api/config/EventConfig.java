@@ -15,9 +15,15 @@
  */
 package io.perfana.eventscheduler.api.config;
 
+import io.perfana.eventscheduler.api.EventPhase;
 import lombok.*;
 import net.jcip.annotations.NotThreadSafe;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * The EventConfig is used is given to each event call.
  *
@@ -26,6 +32,9 @@ import net.jcip.annotations.NotThreadSafe;
  *
  * Another field is 'enabled', default is true.
  * If set to false, the event will not be active.
+ *
+ * The timeout fields override the timeouts of the event scheduler config for this
+ * event only, default is null: use the event scheduler config timeouts.
  */
 @Setter
 @Builder
@@ -49,6 +58,21 @@ public class EventConfig {
     @Builder.Default
     private boolean continueOnKeepAliveParticipant = false;
 
+    @Builder.Default
+    private Integer beforeTestTimeoutInSeconds = null;
+    @Builder.Default
+    private Integer startTestTimeoutInSeconds = null;
+    @Builder.Default
+    private Integer keepAliveTimeoutInSeconds = null;
+    @Builder.Default
+    private Integer customEventTimeoutInSeconds = null;
+    @Builder.Default
+    private Integer checkTimeoutInSeconds = null;
+    @Builder.Default
+    private Integer afterTestTimeoutInSeconds = null;
+    @Builder.Default
+    private Integer abortTestTimeoutInSeconds = null;
+
     public EventContext toContext() {
         return EventContext.builder()
                 .name(name)
@@ -57,7 +81,32 @@ public class EventConfig {
                 .scheduleScript(scheduleScript)
                 .readyForStartParticipant(readyForStartParticipant)
                 .continueOnKeepAliveParticipant(continueOnKeepAliveParticipant)
+                .phaseTimeouts(toPhaseTimeouts(beforeTestTimeoutInSeconds, startTestTimeoutInSeconds,
+                    keepAliveTimeoutInSeconds, customEventTimeoutInSeconds, checkTimeoutInSeconds,
+                    afterTestTimeoutInSeconds, abortTestTimeoutInSeconds))
             .build();
     }
 
+    /**
+     * @return map with a timeout for each phase that has a non-null timeout in seconds
+     */
+    static Map<EventPhase, Duration> toPhaseTimeouts(Integer beforeTest, Integer startTest, Integer keepAlive,
+                                                     Integer customEvent, Integer check, Integer afterTest, Integer abortTest) {
+        Map<EventPhase, Duration> timeouts = new EnumMap<>(EventPhase.class);
+        putTimeout(timeouts, EventPhase.BEFORE_TEST, beforeTest);
+        putTimeout(timeouts, EventPhase.START_TEST, startTest);
+        putTimeout(timeouts, EventPhase.KEEP_ALIVE, keepAlive);
+        putTimeout(timeouts, EventPhase.CUSTOM_EVENT, customEvent);
+        putTimeout(timeouts, EventPhase.CHECK, check);
+        putTimeout(timeouts, EventPhase.AFTER_TEST, afterTest);
+        putTimeout(timeouts, EventPhase.ABORT_TEST, abortTest);
+        return Collections.unmodifiableMap(timeouts);
+    }
+
+    private static void putTimeout(Map<EventPhase, Duration> timeouts, EventPhase phase, Integer timeoutInSeconds) {
+        if (timeoutInSeconds != null) {
+            timeouts.put(phase, Duration.ofSeconds(timeoutInSeconds));
+        }
+    }
+
 }
@@ -15,10 +15,16 @@
  */
 package io.perfana.eventscheduler.api.config;
 
+import io.perfana.eventscheduler.api.EventPhase;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import lombok.*;
 import lombok.experimental.NonFinal;
 import net.jcip.annotations.Immutable;
 
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * The EventConfig is used is given to each event call.
  *
@@ -31,7 +37,6 @@ import net.jcip.annotations.Immutable;
 
 @Immutable
 @Value
-@AllArgsConstructor
 @Builder(access = AccessLevel.PROTECTED)
 @NonFinal
 public class EventContext {
@@ -41,6 +46,29 @@ public class EventContext {
     String scheduleScript;
     boolean readyForStartParticipant;
     boolean continueOnKeepAliveParticipant;
+    // timeouts that override the event scheduler timeouts for this event, per phase
+    @Singular
+    Map<EventPhase, Duration> phaseTimeouts;
+
+    public EventContext(String name, String eventFactory, boolean enabled, String scheduleScript,
+                        boolean readyForStartParticipant, boolean continueOnKeepAliveParticipant) {
+        this(name, eventFactory, enabled, scheduleScript, readyForStartParticipant, continueOnKeepAliveParticipant, null);
+    }
+
+    /**
+     * @param phaseTimeouts null for no timeouts, each timeout should be larger than zero
+     */
+    protected EventContext(String name, String eventFactory, boolean enabled, String scheduleScript,
+                           boolean readyForStartParticipant, boolean continueOnKeepAliveParticipant,
+                           Map<EventPhase, Duration> phaseTimeouts) {
+        this.name = name;
+        this.eventFactory = eventFactory;
+        this.enabled = enabled;
+        this.scheduleScript = scheduleScript;
+        this.readyForStartParticipant = readyForStartParticipant;
+        this.continueOnKeepAliveParticipant = continueOnKeepAliveParticipant;
+        this.phaseTimeouts = validPhaseTimeouts("event '" + name + "'", phaseTimeouts);
+    }
 
     protected EventContext(EventContext context, String eventFactory) {
         this.name = context.name;
@@ -49,6 +77,7 @@ public class EventContext {
         this.scheduleScript = context.scheduleScript;
         this.readyForStartParticipant = context.readyForStartParticipant;
         this.continueOnKeepAliveParticipant = context.continueOnKeepAliveParticipant;
+        this.phaseTimeouts = context.phaseTimeouts;
     }
 
     /**
@@ -63,4 +92,20 @@ public class EventContext {
     protected EventContext(EventContext context, String eventFactory, boolean isReadyForStartParticipant) {
         this(context, eventFactory);
     }
+
+    /**
+     * @param owner description of the owner of the timeouts for the error message, e.g. event 'my-event'
+     */
+    static Map<EventPhase, Duration> validPhaseTimeouts(String owner, Map<EventPhase, Duration> phaseTimeouts) {
+        if (phaseTimeouts == null || phaseTimeouts.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        phaseTimeouts.forEach((phase, timeout) -> {
+            if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+                throw new EventSchedulerRuntimeException(String.format("'%s' timeout of %s should be larger than zero: %s",
+                    phase.getDescription(), owner, timeout));
+            }
+        });
+        return phaseTimeouts;
+    }
 }
@@ -15,7 +15,11 @@
  */
 package io.perfana.eventscheduler.api.config;
 
+import io.perfana.eventscheduler.api.BulkheadOverflowPolicy;
+import io.perfana.eventscheduler.api.CustomEventSchedulerType;
 import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.api.KeepAliveOverrunPolicy;
+import io.perfana.eventscheduler.api.message.BackpressurePolicy;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import lombok.*;
 import net.jcip.annotations.NotThreadSafe;
@@ -42,8 +46,74 @@ public class EventSchedulerConfig {
     private boolean continueOnEventCheckFailure = true;
     @Builder.Default
     private Integer keepAliveIntervalInSeconds = 30;
+    // if set, overrides keepAliveIntervalInSeconds, for sub-second keep-alive intervals
+    @Builder.Default
+    private Integer keepAliveIntervalInMillis = null;
+    @Builder.Default
+    private KeepAliveOverrunPolicy keepAliveOverrunPolicy = KeepAliveOverrunPolicy.CATCH_UP;
     @Builder.Default
     private String scheduleScript = null;
+    @Builder.Default
+    private CustomEventSchedulerType customEventSchedulerType = CustomEventSchedulerType.EXECUTOR;
+    // bulkhead per event for the custom event calls: max calls in flight per event, then queued up to the max queued, 0 is no limit
+    @Builder.Default
+    private Integer customEventMaxConcurrentCallsPerEvent = 0;
+    @Builder.Default
+    private Integer customEventMaxQueuedCallsPerEvent = 100;
+    // max custom event calls in flight for all events together, 0 is no limit
+    @Builder.Default
+    private Integer customEventMaxConcurrentCalls = 0;
+    @Builder.Default
+    private BulkheadOverflowPolicy customEventOverflowPolicy = BulkheadOverflowPolicy.REJECT;
+    // send custom events only to the events that allow them, see Event.allowedCustomEvents()
+    @Builder.Default
+    private boolean customEventRoutingEnabled = false;
+    // end the keep alive broadcast at the first kill switch or abort request and cancel the other keep alive calls
+    @Builder.Default
+    private boolean keepAliveFailFastEnabled = false;
+    // skip the calls to EventAdapter methods that an event does not override
+    @Builder.Default
+    private boolean skipNotImplementedCallsEnabled = true;
+    // create the events and run the test context initializers in parallel, for factories and initializers with remote lookups
+    @Builder.Default
+    private boolean parallelBuildEnabled = false;
+    // custom events that fire within this window are broadcast as one batch, 0 only batches custom events with the same fire time
+    @Builder.Default
+    private Integer customEventBatchWindowInMillis = 0;
+    // call each event one call at a time, in broadcast order, different events are still called in parallel
+    @Builder.Default
+    private boolean serialCallsPerEventEnabled = false;
+    // use a virtual thread per event call (java 21+), falls back to platform threads on older java versions
+    @Builder.Default
+    private boolean virtualThreadsEnabled = false;
+    // max duration of the event calls in each phase, a call that takes longer is reported as failure of that event
+    @Builder.Default
+    private Integer beforeTestTimeoutInSeconds = 300;
+    @Builder.Default
+    private Integer startTestTimeoutInSeconds = 300;
+    @Builder.Default
+    private Integer keepAliveTimeoutInSeconds = 300;
+    @Builder.Default
+    private Integer customEventTimeoutInSeconds = 300;
+    @Builder.Default
+    private Integer checkTimeoutInSeconds = 300;
+    @Builder.Default
+    private Integer afterTestTimeoutInSeconds = 300;
+    @Builder.Default
+    private Integer abortTestTimeoutInSeconds = 300;
+    // deliver messages to receivers via a queue and thread per receiver, instead of in the thread of the sender
+    @Builder.Default
+    private boolean asyncMessageBusEnabled = false;
+    @Builder.Default
+    private Integer messageBusQueueCapacity = 1024;
+    @Builder.Default
+    private BackpressurePolicy messageBusBackpressurePolicy = BackpressurePolicy.BLOCK;
+    // if set, all messages and event calls are recorded in this file, see EventJournalReader
+    @Builder.Default
+    private String journalFile = null;
+    // send the call metrics per event and phase as message at stop of the session
+    @Builder.Default
+    private boolean callMetricsMessageEnabled = false;
     @Singular
     private List<EventConfig> eventConfigs;
     @Builder.Default
@@ -67,8 +137,32 @@ public class EventSchedulerConfig {
             .schedulerEnabled(schedulerEnabled)
             .failOnError(failOnError)
             .continueOnEventCheckFailure(continueOnEventCheckFailure)
-            .keepAliveInterval(Duration.ofSeconds(keepAliveIntervalInSeconds))
+            .keepAliveInterval(keepAliveIntervalInMillis == null
+                ? Duration.ofSeconds(keepAliveIntervalInSeconds)
+                : Duration.ofMillis(keepAliveIntervalInMillis))
+            .keepAliveOverrunPolicy(keepAliveOverrunPolicy)
             .scheduleScript(allScheduleScripts)
+            .customEventSchedulerType(customEventSchedulerType)
+            .customEventMaxConcurrentCallsPerEvent(customEventMaxConcurrentCallsPerEvent)
+            .customEventMaxQueuedCallsPerEvent(customEventMaxQueuedCallsPerEvent)
+            .customEventMaxConcurrentCalls(customEventMaxConcurrentCalls)
+            .customEventOverflowPolicy(customEventOverflowPolicy)
+            .serialCallsPerEventEnabled(serialCallsPerEventEnabled)
+            .parallelBuildEnabled(parallelBuildEnabled)
+            .customEventRoutingEnabled(customEventRoutingEnabled)
+            .skipNotImplementedCallsEnabled(skipNotImplementedCallsEnabled)
+            .keepAliveFailFastEnabled(keepAliveFailFastEnabled)
+            .customEventBatchWindow(Duration.ofMillis(customEventBatchWindowInMillis))
+            .asyncMessageBusEnabled(asyncMessageBusEnabled)
+            .messageBusQueueCapacity(messageBusQueueCapacity)
+            .messageBusBackpressurePolicy(messageBusBackpressurePolicy)
+            .journalFile(journalFile)
+            .callMetricsMessageEnabled(callMetricsMessageEnabled)
+            .virtualThreadsEnabled(virtualThreadsEnabled)
+            .phaseTimeouts(EventContext.validPhaseTimeouts("event scheduler",
+                EventConfig.toPhaseTimeouts(beforeTestTimeoutInSeconds, startTestTimeoutInSeconds,
+                    keepAliveTimeoutInSeconds, customEventTimeoutInSeconds, checkTimeoutInSeconds,
+                    afterTestTimeoutInSeconds, abortTestTimeoutInSeconds)))
             .eventContexts(eventContexts)
             .testContext(testConfig.toContext())
             .build();
@@ -15,11 +15,17 @@
  */
 package io.perfana.eventscheduler.api.config;
 
+import io.perfana.eventscheduler.api.BulkheadOverflowPolicy;
+import io.perfana.eventscheduler.api.CustomEventSchedulerType;
+import io.perfana.eventscheduler.api.EventPhase;
+import io.perfana.eventscheduler.api.KeepAliveOverrunPolicy;
+import io.perfana.eventscheduler.api.message.BackpressurePolicy;
 import lombok.*;
 import net.jcip.annotations.Immutable;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @Value
 @Builder(access = AccessLevel.PROTECTED)
@@ -36,7 +42,45 @@ public class EventSchedulerContext {
     @Builder.Default
     Duration keepAliveInterval = Duration.ofSeconds(30);
     @Builder.Default
+    KeepAliveOverrunPolicy keepAliveOverrunPolicy = KeepAliveOverrunPolicy.CATCH_UP;
+    @Builder.Default
     String scheduleScript = "";
+    @Builder.Default
+    CustomEventSchedulerType customEventSchedulerType = CustomEventSchedulerType.EXECUTOR;
+    @Builder.Default
+    int customEventMaxConcurrentCallsPerEvent = 0;
+    @Builder.Default
+    int customEventMaxQueuedCallsPerEvent = 100;
+    @Builder.Default
+    int customEventMaxConcurrentCalls = 0;
+    @Builder.Default
+    BulkheadOverflowPolicy customEventOverflowPolicy = BulkheadOverflowPolicy.REJECT;
+    @Builder.Default
+    boolean serialCallsPerEventEnabled = false;
+    @Builder.Default
+    boolean parallelBuildEnabled = false;
+    @Builder.Default
+    boolean customEventRoutingEnabled = false;
+    @Builder.Default
+    boolean skipNotImplementedCallsEnabled = true;
+    @Builder.Default
+    boolean keepAliveFailFastEnabled = false;
+    @Builder.Default
+    Duration customEventBatchWindow = Duration.ZERO;
+    @Builder.Default
+    boolean virtualThreadsEnabled = false;
+    @Singular
+    Map<EventPhase, Duration> phaseTimeouts;
+    @Builder.Default
+    boolean asyncMessageBusEnabled = false;
+    @Builder.Default
+    int messageBusQueueCapacity = 1024;
+    @Builder.Default
+    BackpressurePolicy messageBusBackpressurePolicy = BackpressurePolicy.BLOCK;
+    @Builder.Default
+    String journalFile = null;
+    @Builder.Default
+    boolean callMetricsMessageEnabled = false;
     @Singular
     List<EventContext> eventContexts;
     @Builder.Default
@@ -24,10 +24,22 @@ import java.util.Map;
 @Value
 @Builder
 public class EventMessage {
+    /**
+     * Name of the variable with the type of the message, used to route messages to receivers of that type.
+     */
+    public static final String MESSAGE_TYPE_VARIABLE = "message-type";
+
     @Builder.Default
     long timestamp = System.currentTimeMillis(); //NOPMD - suppressed AvoidTimeUnitConfusion - timestamp is part of interface
     String message;
     String pluginName;
     @Singular
     Map<String, String> variables;
+
+    /**
+     * @return the value of the message-type variable, or null if not present
+     */
+    public String getMessageType() {
+        return variables == null ? null : variables.get(MESSAGE_TYPE_VARIABLE);
+    }
 }
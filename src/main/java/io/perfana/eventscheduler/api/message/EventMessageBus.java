@@ -18,4 +18,38 @@ package io.perfana.eventscheduler.api.message;
 public interface EventMessageBus {
     void send(EventMessage message);
     void addReceiver(EventMessageReceiver eventMessageReceiver);
+
+    /**
+     * Receive only messages with the given message type, see {@link EventMessage#getMessageType()}.
+     * <br/>
+     * The default implementation filters the messages in a {@link MessageTypeReceiver}, implementations can
+     * keep an index of message type to receivers instead.
+     *
+     * @param eventMessageReceiver the receiver
+     * @param messageType the message type to receive, e.g. "test-run-config"
+     */
+    default void addReceiver(EventMessageReceiver eventMessageReceiver, String messageType) {
+        addReceiver(new MessageTypeReceiver(eventMessageReceiver, messageType));
+    }
+
+    /**
+     * Stop sending messages to the receiver.
+     * <br/>
+     * The default implementation does not remove receivers and returns false. Implementations should also
+     * find a receiver that was added for a message type, see {@link MessageTypeReceiver#isReceiver}.
+     *
+     * @param eventMessageReceiver the receiver to remove, compared by identity
+     * @return true if the receiver was present
+     */
+    default boolean removeReceiver(EventMessageReceiver eventMessageReceiver) {
+        return false;
+    }
+
+    /**
+     * Deliver the messages that are still pending and release resources, such as threads.
+     * Messages sent after close might not be delivered.
+     */
+    default void close() {
+        // nothing to release by default
+    }
 }
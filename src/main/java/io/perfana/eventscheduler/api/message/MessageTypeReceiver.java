@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api.message;
+
+import net.jcip.annotations.Immutable;
+
+/**
+ * Receiver that only passes on the messages with the given message type to the wrapped receiver,
+ * used by the default {@link EventMessageBus#addReceiver(EventMessageReceiver, String)}.
+ * <br/>
+ * Use {@link #isReceiver(EventMessageReceiver, EventMessageReceiver)} in an implementation of
+ * {@link EventMessageBus#removeReceiver(EventMessageReceiver)}, so the receiver can also be removed
+ * when it was added for a message type.
+ */
+@Immutable
+public final class MessageTypeReceiver implements EventMessageReceiver {
+
+    private final EventMessageReceiver receiver;
+    private final String messageType;
+
+    public MessageTypeReceiver(EventMessageReceiver receiver, String messageType) {
+        this.receiver = receiver;
+        this.messageType = messageType;
+    }
+
+    @Override
+    public void receive(EventMessage message) {
+        if (messageType.equals(message.getMessageType())) {
+            receiver.receive(message);
+        }
+    }
+
+    public EventMessageReceiver getReceiver() {
+        return receiver;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * @param registered the receiver as added to the message bus
+     * @param receiver the receiver to find, compared by identity
+     * @return true when registered is the receiver, or wraps the receiver for a message type
+     */
+    public static boolean isReceiver(EventMessageReceiver registered, EventMessageReceiver receiver) {
+        return registered == receiver
+            || (registered instanceof MessageTypeReceiver && ((MessageTypeReceiver) registered).receiver == receiver);
+    }
+}
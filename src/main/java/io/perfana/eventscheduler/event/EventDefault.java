@@ -46,6 +46,6 @@ public class EventDefault extends EventAdapter<EventContext> {
 
     @Override
     public void customEvent(CustomEvent scheduleEvent) {
-        logger.debug("Custom event not implemented: " + scheduleEvent);
+        logger.debugLazy(() -> "Custom event not implemented: " + scheduleEvent);
     }
 }
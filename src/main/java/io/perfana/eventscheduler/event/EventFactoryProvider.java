@@ -16,18 +16,23 @@
 package io.perfana.eventscheduler.event;
 
 import io.perfana.eventscheduler.api.EventFactory;
+import io.perfana.eventscheduler.util.ServiceProviderCache;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * The event factories on the classpath. Only the factories that are asked for are instantiated.
+ */
 public class EventFactoryProvider {
 
-    private final Map<String, EventFactory<?>> eventFactories;
+    private final Set<String> factoryClassNames;
+    private final ClassLoader classLoader;
+    private final Map<String, EventFactory<?>> eventFactories = new ConcurrentHashMap<>();
 
-    private EventFactoryProvider(List<EventFactory<?>> eventFactories) {
-        Map<String, EventFactory<?>> map = eventFactories.stream()
-                .collect(Collectors.toMap(f -> f.getClass().getName(), f -> f));
-        this.eventFactories = Collections.unmodifiableMap(map);
+    private EventFactoryProvider(List<String> factoryClassNames, ClassLoader classLoader) {
+        this.factoryClassNames = new HashSet<>(factoryClassNames);
+        this.classLoader = classLoader;
     }
 
     public static EventFactoryProvider createInstanceFromClasspath() {
@@ -35,15 +40,7 @@ public class EventFactoryProvider {
     }
 
     public static EventFactoryProvider createInstanceFromClasspath(ClassLoader classLoader) {
-        ServiceLoader<EventFactory> eventFactoryLoader = classLoader == null
-                ? ServiceLoader.load(EventFactory.class)
-                : ServiceLoader.load(EventFactory.class, classLoader);
-        // java 9+: List<EventFactory> eventFactories = eventFactoryLoader.stream().map(ServiceLoader.Provider::get).collect(Collectors.toList());
-        List<EventFactory<?>> eventFactories = new ArrayList<>();
-        for (EventFactory<?> eventFactory : eventFactoryLoader) {
-            eventFactories.add(eventFactory);
-        }
-        return new EventFactoryProvider(eventFactories);
+        return new EventFactoryProvider(ServiceProviderCache.providerClassNames(EventFactory.class, classLoader), classLoader);
     }
 
     /**
@@ -53,7 +50,11 @@ public class EventFactoryProvider {
      * @return an optional which is empty if the factory for given class name is not present
      */
     public Optional<EventFactory> factoryByClassName(String className) {
-        return Optional.ofNullable(eventFactories.get(className));
+        if (className == null || !factoryClassNames.contains(className)) {
+            return Optional.empty();
+        }
+        return Optional.of(eventFactories.computeIfAbsent(className,
+            name -> ServiceProviderCache.newInstance(EventFactory.class, name, classLoader)));
     }
 
 }
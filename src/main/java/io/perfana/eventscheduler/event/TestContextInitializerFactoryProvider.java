@@ -16,18 +16,24 @@
 package io.perfana.eventscheduler.event;
 
 import io.perfana.eventscheduler.api.TestContextInitializerFactory;
+import io.perfana.eventscheduler.util.ServiceProviderCache;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+/**
+ * The test context initializer factories on the classpath. The factories are instantiated when they are asked for.
+ */
 public class TestContextInitializerFactoryProvider {
 
-    private final Map<String, TestContextInitializerFactory<?>> testContextInitializerFactories;
+    private final List<String> factoryClassNames;
+    private final ClassLoader classLoader;
+    private final Map<String, TestContextInitializerFactory<?>> testContextInitializerFactories = new ConcurrentHashMap<>();
 
-    private TestContextInitializerFactoryProvider(List<TestContextInitializerFactory<?>> testContextInitializerFactories) {
-        Map<String, TestContextInitializerFactory<?>> map = testContextInitializerFactories.stream()
-                .collect(Collectors.toMap(f -> f.getClass().getName(), f -> f));
-        this.testContextInitializerFactories = Collections.unmodifiableMap(map);
+    private TestContextInitializerFactoryProvider(List<String> factoryClassNames, ClassLoader classLoader) {
+        this.factoryClassNames = factoryClassNames;
+        this.classLoader = classLoader;
     }
 
     public static TestContextInitializerFactoryProvider createInstanceFromClasspath() {
@@ -35,15 +41,8 @@ public class TestContextInitializerFactoryProvider {
     }
 
     public static TestContextInitializerFactoryProvider createInstanceFromClasspath(ClassLoader classLoader) {
-        ServiceLoader<TestContextInitializerFactory> testContextInitializerServiceLoader = classLoader == null
-                ? ServiceLoader.load(TestContextInitializerFactory.class)
-                : ServiceLoader.load(TestContextInitializerFactory.class, classLoader);
-        // java 9+: List<EventFactory> testContextInitializerFactories = testContextInitializerServiceLoader.stream().map(ServiceLoader.Provider::get).collect(Collectors.toList());
-        List<TestContextInitializerFactory<?>> testContextInitializerFactories = new ArrayList<>();
-        for (TestContextInitializerFactory<?> testContextInitializerFactory : testContextInitializerServiceLoader) {
-            testContextInitializerFactories.add(testContextInitializerFactory);
-        }
-        return new TestContextInitializerFactoryProvider(testContextInitializerFactories);
+        return new TestContextInitializerFactoryProvider(
+            ServiceProviderCache.providerClassNames(TestContextInitializerFactory.class, classLoader), classLoader);
     }
 
     /**
@@ -53,11 +52,24 @@ public class TestContextInitializerFactoryProvider {
      * @return an optional which is empty if the factory for given class name is not present
      */
     public Optional<TestContextInitializerFactory> factoryByClassName(String className) {
-        return Optional.ofNullable(testContextInitializerFactories.get(className));
+        if (className == null || !factoryClassNames.contains(className)) {
+            return Optional.empty();
+        }
+        return Optional.of(factory(className));
     }
 
+    /**
+     * Instantiates all factories: a factory is matched to an event by its event context class name.
+     */
     public List<TestContextInitializerFactory> getTestContextInitializerFactories() {
-        return new ArrayList<>(testContextInitializerFactories.values());
+        return factoryClassNames.stream()
+            .map(this::factory)
+            .collect(Collectors.toList());
+    }
+
+    private TestContextInitializerFactory<?> factory(String className) {
+        return testContextInitializerFactories.computeIfAbsent(className,
+            name -> ServiceProviderCache.newInstance(TestContextInitializerFactory.class, name, classLoader));
     }
 
 }
@@ -20,10 +20,12 @@ import io.perfana.eventscheduler.api.SchedulerExceptionType;
 /**
  * Exceptions to be passed outside of the event sandbox.
  * Other exceptions are kept within the event.
+ *
+ * These exceptions are requests to the scheduler, not failures: no stack trace is filled in.
  */
 public abstract class SchedulerHandlerException extends RuntimeException {
     public SchedulerHandlerException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public abstract SchedulerExceptionType getExceptionType();
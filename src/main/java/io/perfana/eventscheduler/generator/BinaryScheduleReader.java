@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.generator;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import net.jcip.annotations.ThreadSafe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static io.perfana.eventscheduler.generator.BinaryScheduleWriter.*;
+
+/**
+ * Reads a binary schedule written by {@link BinaryScheduleWriter} via a memory-mapped file.
+ * <br/>
+ * Opening only checks the header: the custom events are created when they are read, the strings
+ * are decoded once per string id.
+ */
+@ThreadSafe
+public class BinaryScheduleReader {
+
+    private final Path file;
+    // only absolute reads, so concurrent reads do not interfere
+    private final ByteBuffer buffer;
+    private final int recordCount;
+    private final int stringCount;
+    private final int stringOffsetsStart;
+    private final int stringDataStart;
+    private final String[] strings;
+
+    public BinaryScheduleReader(Path file) {
+        this.file = file;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new EventSchedulerRuntimeException("binary schedule is too large to read: " + file);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new EventSchedulerRuntimeException("cannot read binary schedule: " + file, e);
+        }
+
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new EventSchedulerRuntimeException("not a binary schedule: " + file);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new EventSchedulerRuntimeException("unsupported binary schedule version " + version + ": " + file);
+        }
+        this.recordCount = buffer.getInt(8);
+        this.stringCount = buffer.getInt(12);
+        long stringTableOffset = buffer.getLong(16);
+        if (recordCount < 0 || stringCount < 0
+                || stringTableOffset != HEADER_SIZE + (long) recordCount * RECORD_SIZE
+                || stringTableOffset + (long) stringCount * Integer.BYTES > buffer.limit()) {
+            throw new EventSchedulerRuntimeException("corrupt binary schedule: " + file);
+        }
+        this.stringOffsetsStart = (int) stringTableOffset;
+        this.stringDataStart = stringOffsetsStart + stringCount * Integer.BYTES;
+        this.strings = new String[stringCount];
+    }
+
+    /**
+     * @return number of custom events in the schedule
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * @param index the index of the custom event, in fire time order
+     */
+    public CustomEvent get(int index) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("custom event " + index + " of " + recordCount);
+        }
+        int record = HEADER_SIZE + index * RECORD_SIZE;
+        Duration duration = Duration.ofNanos(buffer.getLong(record));
+        String name = string(buffer.getInt(record + Long.BYTES));
+        String description = string(buffer.getInt(record + Long.BYTES + Integer.BYTES));
+        String settings = string(buffer.getInt(record + Long.BYTES + 2 * Integer.BYTES));
+        return new CustomEvent(duration, name, description, settings);
+    }
+
+    /**
+     * @return the custom events in fire time order, created while the stream is consumed
+     */
+    public Stream<CustomEvent> stream() {
+        return IntStream.range(0, recordCount).mapToObj(this::get);
+    }
+
+    /**
+     * Strings are immutable, so a racy decode of the same string twice is harmless.
+     */
+    private String string(int id) {
+        if (id == NO_STRING) {
+            return null;
+        }
+        if (id < 0 || id >= stringCount) {
+            throw new EventSchedulerRuntimeException("corrupt binary schedule: " + file);
+        }
+        String string = strings[id];
+        if (string == null) {
+            // the offsets table itself is checked on open, its entries and the lengths are checked here
+            long offset = (long) stringDataStart + buffer.getInt(stringOffsetsStart + id * Integer.BYTES);
+            if (offset < stringDataStart || offset + Integer.BYTES > buffer.limit()) {
+                throw new EventSchedulerRuntimeException("corrupt binary schedule: " + file);
+            }
+            int length = buffer.getInt((int) offset);
+            if (length < 0 || length > buffer.limit() - (offset + Integer.BYTES)) {
+                throw new EventSchedulerRuntimeException("corrupt binary schedule: " + file);
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer stringBuffer = buffer.duplicate();
+            stringBuffer.position((int) offset + Integer.BYTES);
+            stringBuffer.get(bytes);
+            string = new String(bytes, StandardCharsets.UTF_8);
+            strings[id] = string;
+        }
+        return string;
+    }
+}
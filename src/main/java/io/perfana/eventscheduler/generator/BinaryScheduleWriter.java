@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.generator;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.CustomEventParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes custom events in the binary schedule format that is read by {@link BinaryScheduleReader}.
+ * <br/>
+ * Layout, big endian:
+ * <ul>
+ *     <li>header: magic, version, record count, string count, string table offset (long), reserved (long)</li>
+ *     <li>records, ordered by fire time: fire offset in nanos (long), name id, description id, settings id (ints, -1 for none)</li>
+ *     <li>string table: offset per string id (int, from the start of the string data), then per string its byte length (int) and utf-8 bytes</li>
+ * </ul>
+ * Equal strings share one id, so the names of recurring custom events are stored once.
+ * <br/>
+ * Convert a text schedule: <code>java -cp event-scheduler.jar io.perfana.eventscheduler.generator.BinaryScheduleWriter schedule.txt schedule.bin</code>
+ */
+public final class BinaryScheduleWriter {
+
+    static final int MAGIC = 0x45534231;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = Long.BYTES + 3 * Integer.BYTES;
+    static final int NO_STRING = -1;
+
+    private BinaryScheduleWriter() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: BinaryScheduleWriter <text-schedule-file> <binary-schedule-file>");
+            System.exit(1);
+        }
+        int count = convert(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("converted " + count + " custom events to " + args[1]);
+    }
+
+    /**
+     * Convert a text schedule, in the duration|name(description)|settings format, to a binary schedule.
+     * @return the number of custom events
+     */
+    public static int convert(Path textSchedule, Path binarySchedule) throws IOException {
+        // parse line by line, the text schedule is not read in memory as a whole
+        List<CustomEvent> events;
+        try (Stream<CustomEvent> stream = CustomEventParser.stream(Files.newBufferedReader(textSchedule, StandardCharsets.UTF_8))) {
+            events = stream.collect(Collectors.toList());
+        }
+        write(events, binarySchedule);
+        return events.size();
+    }
+
+    /**
+     * Write the custom events, ordered by fire time: events with the same fire time keep their order.
+     */
+    public static void write(Collection<CustomEvent> events, Path binarySchedule) throws IOException {
+        List<CustomEvent> sortedEvents = new ArrayList<>(events);
+        sortedEvents.sort(Comparator.comparing(CustomEvent::getDuration));
+
+        Map<String, Integer> stringIds = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+
+        ByteBuffer records = ByteBuffer.allocate(Math.multiplyExact(sortedEvents.size(), RECORD_SIZE));
+        for (CustomEvent event : sortedEvents) {
+            records.putLong(event.getDuration().toNanos());
+            records.putInt(stringId(event.getName(), stringIds, strings));
+            // the default description is derived from name and fire time when read
+            records.putInt(isDefaultDescription(event) ? NO_STRING : stringId(event.getDescription(), stringIds, strings));
+            records.putInt(stringId(event.getSettings(), stringIds, strings));
+        }
+        records.flip();
+
+        ByteBuffer offsets = ByteBuffer.allocate(Math.multiplyExact(strings.size(), Integer.BYTES));
+        int stringDataSize = 0;
+        for (byte[] string : strings) {
+            offsets.putInt(stringDataSize);
+            stringDataSize = Math.addExact(stringDataSize, Integer.BYTES + string.length);
+        }
+        offsets.flip();
+
+        ByteBuffer stringData = ByteBuffer.allocate(stringDataSize);
+        for (byte[] string : strings) {
+            stringData.putInt(string.length);
+            stringData.put(string);
+        }
+        stringData.flip();
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(sortedEvents.size());
+        header.putInt(strings.size());
+        header.putLong((long) HEADER_SIZE + records.remaining());
+        header.putLong(0);
+        header.flip();
+
+        try (FileChannel channel = FileChannel.open(binarySchedule,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (ByteBuffer buffer : new ByteBuffer[] { header, records, offsets, stringData }) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    private static boolean isDefaultDescription(CustomEvent event) {
+        return Objects.equals(event.getDescription(), event.getName() + "-" + event.getDuration());
+    }
+
+    private static int stringId(String value, Map<String, Integer> stringIds, List<byte[]> strings) {
+        if (value == null) {
+            return NO_STRING;
+        }
+        return stringIds.computeIfAbsent(value, key -> {
+            strings.add(key.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.generator;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.EventGeneratorProperties;
+import io.perfana.eventscheduler.api.EventGeneratorStreaming;
+import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+/**
+ * Streams the custom events of a binary schedule file, see {@link BinaryScheduleWriter}.
+ */
+public class EventGeneratorBinary implements EventGeneratorStreaming {
+
+    public static final String SCHEDULE_FILE = "schedule-file";
+
+    private final EventGeneratorProperties properties;
+    private final EventLogger logger;
+
+    EventGeneratorBinary(EventGeneratorProperties properties, EventLogger logger) {
+        this.properties = properties;
+        this.logger = logger;
+    }
+
+    @Override
+    public Stream<CustomEvent> stream() {
+        String scheduleFile = properties.getProperty(SCHEDULE_FILE);
+        if (scheduleFile == null) {
+            throw new EventSchedulerRuntimeException("property " + SCHEDULE_FILE + " is missing for the binary schedule generator");
+        }
+        BinaryScheduleReader reader = new BinaryScheduleReader(Paths.get(scheduleFile));
+        logger.info("streaming " + reader.size() + " custom events from binary schedule " + scheduleFile);
+        return reader.stream();
+    }
+}
@@ -16,17 +16,13 @@
 package io.perfana.eventscheduler.generator;
 
 import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.CustomEventParser;
 import io.perfana.eventscheduler.api.EventGenerator;
 import io.perfana.eventscheduler.api.EventGeneratorProperties;
 import io.perfana.eventscheduler.api.EventLogger;
-import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.StringReader;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class EventGeneratorDefault implements EventGenerator {
 
@@ -43,30 +39,12 @@ public class EventGeneratorDefault implements EventGenerator {
         return createTestEvents(properties.getProperty(EVENT_SCHEDULE_TAG));
     }
 
+    /**
+     * Skips empty lines, commented out lines (#) and meta property lines (@).
+     */
     private List<CustomEvent> createTestEvents(String eventsAsString) {
-        if (eventsAsString != null) {
-            try {
-                try (BufferedReader eventReader = new BufferedReader(new StringReader(eventsAsString))) {
-                    List<String> events = eventReader.lines()
-                            .map(String::trim)
-                            .filter(e -> !e.startsWith("#")) // skip commented out lines
-                            .filter(e -> !e.isEmpty())
-                            .filter(e -> !e.startsWith("@"))
-                            .collect(Collectors.toList());
-                    return parseScheduleEvents(events);
-                }
-            } catch (IOException e) {
-                throw new EventSchedulerRuntimeException("Unable to generate test events");
-            }
-        }
-        else {
-            return Collections.emptyList();
-        }
-    }
-
-    private List<CustomEvent> parseScheduleEvents(List<String> eventSchedule) {
-        return eventSchedule.stream()
-                .map(CustomEvent::createFromLine)
-                .collect(Collectors.toList());
+        return eventsAsString == null
+            ? Collections.emptyList()
+            : CustomEventParser.parse(eventsAsString);
     }
 }
@@ -17,19 +17,32 @@ package io.perfana.eventscheduler.generator;
 
 import io.perfana.eventscheduler.api.EventGeneratorFactory;
 import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.util.ServiceProviderCache;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.ServiceLoader;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * The event generator factories on the classpath. Only the factories that are asked for are instantiated.
+ */
 public class EventGeneratorFactoryProvider {
 
     private final Map<String, EventGeneratorFactory> generatorFactories;
+    private final Set<String> generatorClassNames;
+    private final ClassLoader classLoader;
     private final EventLogger logger;
 
     EventGeneratorFactoryProvider(Map<String, EventGeneratorFactory> generatorFactories, EventLogger logger) {
-        this.generatorFactories = Collections.unmodifiableMap(new HashMap<>(generatorFactories));
+        this.generatorFactories = new ConcurrentHashMap<>(generatorFactories);
+        this.generatorClassNames = Collections.unmodifiableSet(new HashSet<>(generatorFactories.keySet()));
+        this.classLoader = null;
+        this.logger = logger;
+    }
+
+    private EventGeneratorFactoryProvider(List<String> generatorClassNames, ClassLoader classLoader, EventLogger logger) {
+        this.generatorFactories = new ConcurrentHashMap<>();
+        this.generatorClassNames = new HashSet<>(generatorClassNames);
+        this.classLoader = classLoader;
         this.logger = logger;
     }
 
@@ -38,20 +51,18 @@ public class EventGeneratorFactoryProvider {
     }
 
     public static EventGeneratorFactoryProvider createInstanceFromClasspath(EventLogger logger, ClassLoader classLoader) {
-        ServiceLoader<EventGeneratorFactory> generatorFactoryLoader = classLoader == null
-                ? ServiceLoader.load(EventGeneratorFactory.class)
-                : ServiceLoader.load(EventGeneratorFactory.class, classLoader);
-        // java 9+: List<EventGeneratorFactory> generatorFactories = generatorFactoryLoader.stream().map(ServiceLoader.Provider::get).collect(Collectors.toList());
-        Map<String, EventGeneratorFactory> factories = new HashMap<>();
-        for (EventGeneratorFactory generatorFactory : generatorFactoryLoader) {
-            String generatorName = generatorFactory.getClass().getName();
+        List<String> generatorClassNames = ServiceProviderCache.providerClassNames(EventGeneratorFactory.class, classLoader);
+        for (String generatorName : generatorClassNames) {
             logger.info("registering EventScheduleGeneratorFactory: " + generatorName);
-            factories.put(generatorName, generatorFactory);
         }
-        return new EventGeneratorFactoryProvider(factories, logger);
+        return new EventGeneratorFactoryProvider(generatorClassNames, classLoader, logger);
     }
 
     public EventGeneratorFactory find(String generatorClassname) {
-        return generatorFactories.get(generatorClassname);
+        if (generatorClassname == null || !generatorClassNames.contains(generatorClassname)) {
+            return null;
+        }
+        return generatorFactories.computeIfAbsent(generatorClassname,
+            name -> ServiceProviderCache.newInstance(EventGeneratorFactory.class, name, classLoader));
     }
 }
@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.journal;
+
+import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.api.EventPhase;
+import io.perfana.eventscheduler.api.message.EventMessage;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import io.perfana.eventscheduler.log.EventLoggerDevNull;
+import io.perfana.eventscheduler.util.RingBuffer;
+import net.jcip.annotations.ThreadSafe;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only journal of the event messages and the event calls of the broadcasters,
+ * in a compact binary format in a memory-mapped file.
+ * <br/>
+ * Recording only copies the fields into a pre-allocated slot of a ring buffer, one background writer
+ * thread encodes the records and copies them into mapped memory, so the callers do not allocate, do not
+ * wait on a lock and do not wait for a remap of the file. The operating system writes the pages to disk,
+ * also when the jvm dies. When the ring buffer is full the caller waits for the writer.
+ * Use the {@link EventJournalReader} to dump a journal as JSON lines.
+ * <br/>
+ * The file is mapped in regions, the unused part of the last region is zero-filled.
+ * An existing file is replaced. Call {@link #close()} to write the pending records and release the mapped region,
+ * records after close are ignored.
+ * <br/>
+ * Format: a header of magic, version, epoch millis and nano time at start. Then the records, each an int
+ * length followed by the record bytes. A length of 0 marks the end of the journal.
+ */
+@ThreadSafe
+public class EventJournal implements AutoCloseable {
+
+    static final int MAGIC = 0x45534A31; // "ESJ1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final byte RECORD_MESSAGE = 1;
+    static final byte RECORD_BROADCAST = 2;
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int DEFAULT_REGION_SIZE = 4 * 1024 * 1024;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final AtomicLong WRITER_COUNT = new AtomicLong();
+
+    private final Path file;
+    private final EventLogger logger;
+    private final int regionSize;
+    private final RingBuffer<Slot> records;
+
+    // positions below are forced to disk on request, only updated by the writer thread
+    private volatile long forced;
+    private final AtomicLong forceRequested = new AtomicLong();
+
+    // only used by the writer thread
+    private MappedByteBuffer region;
+    private long regionStart;
+    private boolean failed;
+
+    private static final class Slot extends RingBuffer.Entry {
+        private byte type;
+        private long nanos;
+        private EventMessage message;
+        private String eventName;
+        private EventPhase phase;
+        private long startNanos;
+        private long endNanos;
+        private Throwable failure;
+    }
+
+    public EventJournal(Path file, EventLogger logger) {
+        this(file, logger, DEFAULT_REGION_SIZE, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of records in the ring buffer, rounded up to a power of two
+     */
+    EventJournal(Path file, EventLogger logger, int regionSize, int capacity) {
+        this.file = file;
+        this.logger = logger == null ? EventLoggerDevNull.INSTANCE : logger;
+        this.regionSize = Math.max(regionSize, HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.regionSize);
+        } catch (IOException e) {
+            throw new EventSchedulerRuntimeException("cannot create event journal: " + file, e);
+        }
+        region.putInt(MAGIC)
+            .putInt(VERSION)
+            .putLong(System.currentTimeMillis())
+            .putLong(System.nanoTime())
+            .putLong(0L);
+        // the writer thread starts here, after the region is mapped
+        this.records = new RingBuffer<>(capacity, Slot::new, false, new Writer(),
+            "EventJournal-Writer-" + WRITER_COUNT.incrementAndGet());
+    }
+
+    /**
+     * Record a message that is sent on the event message bus.
+     */
+    public void recordMessage(EventMessage message) {
+        long nanos = System.nanoTime();
+        Slot slot = records.claim();
+        if (slot == null) {
+            return;
+        }
+        slot.type = RECORD_MESSAGE;
+        slot.nanos = nanos;
+        slot.message = message;
+        records.publish(slot);
+    }
+
+    /**
+     * Record a call of the broadcaster to an event, matches {@code EventBroadcastListener}.
+     *
+     * @param failure the exception thrown by the call, null on success
+     */
+    public void recordBroadcast(String eventName, EventPhase phase, long startNanos, long endNanos, Throwable failure) {
+        Slot slot = records.claim();
+        if (slot == null) {
+            return;
+        }
+        slot.type = RECORD_BROADCAST;
+        slot.eventName = eventName;
+        slot.phase = phase;
+        slot.startNanos = startNanos;
+        slot.endNanos = endNanos;
+        slot.failure = failure;
+        records.publish(slot);
+    }
+
+    /**
+     * Encodes the records and appends them to the mapped region on the writer thread of the ring buffer.
+     */
+    private final class Writer implements RingBuffer.Consumer<Slot> {
+
+        @Override
+        public void consume(Slot slot) {
+            if (!failed) {
+                append(slot.type == RECORD_MESSAGE ? encodeMessage(slot) : encodeBroadcast(slot));
+            }
+            slot.message = null;
+            slot.eventName = null;
+            slot.failure = null;
+        }
+
+        @Override
+        public void caughtUp(long position) {
+            forceIfRequested(position);
+        }
+
+        @Override
+        public void waiting(long position) {
+            forceIfRequested(position);
+        }
+
+        @Override
+        public void closed(long position) {
+            release(position);
+        }
+    }
+
+    private void forceIfRequested(long head) {
+        long requested = forceRequested.get();
+        if (requested > forced && head >= requested) {
+            if (!failed) {
+                region.force();
+            }
+            forced = head;
+        }
+    }
+
+    private void release(long head) {
+        if (!failed) {
+            region.force();
+        }
+        forced = head;
+        // no public unmap: without references the mapping is released by the garbage collector
+        region = null;
+    }
+
+    private byte[] encodeMessage(Slot slot) {
+        EventMessage message = slot.message;
+        byte[] pluginName = utf8(message.getPluginName());
+        byte[] text = utf8(message.getMessage());
+        Map<String, String> variables = message.getVariables() == null ? Collections.emptyMap() : message.getVariables();
+        byte[][] keysAndValues = new byte[variables.size() * 2][];
+        int size = Byte.BYTES + 2 * Long.BYTES + sizeOf(pluginName) + sizeOf(text) + Integer.BYTES;
+        int index = 0;
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            keysAndValues[index] = utf8(variable.getKey());
+            keysAndValues[index + 1] = utf8(variable.getValue());
+            size += sizeOf(keysAndValues[index]) + sizeOf(keysAndValues[index + 1]);
+            index += 2;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(size)
+            .put(RECORD_MESSAGE)
+            .putLong(slot.nanos)
+            .putLong(message.getTimestamp());
+        putBytes(record, pluginName);
+        putBytes(record, text);
+        record.putInt(variables.size());
+        for (byte[] keyOrValue : keysAndValues) {
+            putBytes(record, keyOrValue);
+        }
+        return record.array();
+    }
+
+    private byte[] encodeBroadcast(Slot slot) {
+        Throwable failure = slot.failure;
+        byte[] name = utf8(slot.eventName);
+        byte[] failureText = failure == null ? null : utf8(failure.getClass().getName() + ": " + failure.getMessage());
+        int size = Byte.BYTES + sizeOf(name) + Byte.BYTES + 2 * Long.BYTES + sizeOf(failureText);
+
+        ByteBuffer record = ByteBuffer.allocate(size).put(RECORD_BROADCAST);
+        putBytes(record, name);
+        record.put(phaseCode(slot.phase))
+            .putLong(slot.startNanos)
+            .putLong(slot.endNanos);
+        putBytes(record, failureText);
+        return record.array();
+    }
+
+    private void append(byte[] record) {
+        int recordSize = Integer.BYTES + record.length;
+        // keep room for the end marker
+        if (region.remaining() < recordSize + Integer.BYTES && !mapNextRegion(recordSize + Integer.BYTES)) {
+            return;
+        }
+        int position = region.position();
+        region.position(position + Integer.BYTES);
+        region.put(record);
+        // length is written last, so the reader never sees a partial record
+        region.putInt(position, record.length);
+    }
+
+    /**
+     * The next region starts where the current region is full, so records are contiguous.
+     * On failure the next records are ignored, a failing journal should not fail the test run.
+     */
+    private boolean mapNextRegion(int minimumSize) {
+        long nextRegionStart = regionStart + region.position();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            region.force();
+            region = channel.map(FileChannel.MapMode.READ_WRITE, nextRegionStart, Math.max(regionSize, minimumSize));
+            regionStart = nextRegionStart;
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("event journal " + file + " is closed, cannot extend journal at " + nextRegionStart + " bytes", e);
+            failed = true;
+            return false;
+        }
+    }
+
+    /**
+     * Wait until the records recorded before this call are written to disk.
+     */
+    public void flush() {
+        long target = records.position();
+        forceRequested.accumulateAndGet(target, Math::max);
+        records.awaitConsumer(() -> forced >= target, System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Write the pending records to disk, stop the writer thread and release the mapped region.
+     * New records are ignored.
+     */
+    @Override
+    public void close() {
+        if (!records.close(CLOSE_TIMEOUT_MILLIS)) {
+            logger.warn("event journal writer did not finish in time: " + file);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * The journal has a fixed code per phase, so adding or reordering phases in EventPhase does not
+     * change how existing journals are read. Never change or reuse a code, add new phases with a new code.
+     */
+    static byte phaseCode(EventPhase phase) {
+        switch (phase) {
+            case BEFORE_TEST: return 0;
+            case START_TEST: return 1;
+            case KEEP_ALIVE: return 2;
+            case CUSTOM_EVENT: return 3;
+            case CHECK: return 4;
+            case AFTER_TEST: return 5;
+            case ABORT_TEST: return 6;
+            default: throw new EventSchedulerRuntimeException("no event journal code for phase: " + phase);
+        }
+    }
+
+    /**
+     * @return the phase of the code, null for an unknown code
+     */
+    static EventPhase phase(byte code) {
+        switch (code) {
+            case 0: return EventPhase.BEFORE_TEST;
+            case 1: return EventPhase.START_TEST;
+            case 2: return EventPhase.KEEP_ALIVE;
+            case 3: return EventPhase.CUSTOM_EVENT;
+            case 4: return EventPhase.CHECK;
+            case 5: return EventPhase.AFTER_TEST;
+            case 6: return EventPhase.ABORT_TEST;
+            default: return null;
+        }
+    }
+
+    private static byte[] utf8(String text) {
+        return text == null ? null : text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    /**
+     * Length -1 for null.
+     */
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        }
+        else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.journal;
+
+import io.perfana.eventscheduler.api.EventPhase;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * Dumps an {@link EventJournal} as JSON lines, one line per record.
+ * <br/>
+ * Example: <code>java -cp event-scheduler.jar io.perfana.eventscheduler.journal.EventJournalReader event-journal.bin</code>
+ */
+public final class EventJournalReader {
+
+    private EventJournalReader() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: EventJournalReader <journal-file>");
+            System.exit(1);
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        dump(Paths.get(args[0]), out);
+        out.flush();
+    }
+
+    /**
+     * Write all records of the journal as JSON lines.
+     * @return the number of records
+     */
+    public static int dump(Path file, Appendable out) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new EventSchedulerRuntimeException("event journal is too large to read: " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < EventJournal.HEADER_SIZE || buffer.getInt() != EventJournal.MAGIC) {
+            throw new EventSchedulerRuntimeException("not an event journal: " + file);
+        }
+        int version = buffer.getInt();
+        if (version != EventJournal.VERSION) {
+            throw new EventSchedulerRuntimeException("unsupported event journal version " + version + ": " + file);
+        }
+        long epochMillis = buffer.getLong();
+        long startNanos = buffer.getLong();
+        buffer.position(EventJournal.HEADER_SIZE);
+
+        int records = 0;
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            ByteBuffer record = buffer.slice();
+            record.limit(length);
+            buffer.position(buffer.position() + length);
+
+            StringBuilder line = new StringBuilder(128);
+            byte type = record.get();
+            if (type == EventJournal.RECORD_MESSAGE) {
+                appendMessage(line, record, epochMillis, startNanos);
+            }
+            else if (type == EventJournal.RECORD_BROADCAST) {
+                appendBroadcast(line, record, epochMillis, startNanos);
+            }
+            else {
+                throw new EventSchedulerRuntimeException("unknown record type " + type + " in event journal: " + file);
+            }
+            out.append(line).append('\n');
+            records++;
+        }
+        return records;
+    }
+
+    private static void appendMessage(StringBuilder line, ByteBuffer record, long epochMillis, long startNanos) {
+        long nanos = record.getLong();
+        long timestamp = record.getLong();
+        String pluginName = getString(record);
+        String message = getString(record);
+        line.append("{\"type\":\"message\",\"time\":\"").append(toInstant(nanos, epochMillis, startNanos))
+            .append("\",\"timestamp\":").append(timestamp)
+            .append(",\"pluginName\":");
+        appendJson(line, pluginName);
+        line.append(",\"message\":");
+        appendJson(line, message);
+        line.append(",\"variables\":{");
+        int variables = record.getInt();
+        for (int i = 0; i < variables; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendJson(line, getString(record));
+            line.append(':');
+            appendJson(line, getString(record));
+        }
+        line.append("}}");
+    }
+
+    private static void appendBroadcast(StringBuilder line, ByteBuffer record, long epochMillis, long startNanos) {
+        String eventName = getString(record);
+        byte phaseCode = record.get();
+        EventPhase phase = EventJournal.phase(phaseCode);
+        if (phase == null) {
+            throw new EventSchedulerRuntimeException("unknown phase code " + phaseCode + " in event journal");
+        }
+        long callStartNanos = record.getLong();
+        long callEndNanos = record.getLong();
+        String failure = getString(record);
+        line.append("{\"type\":\"broadcast\",\"event\":");
+        appendJson(line, eventName);
+        line.append(",\"phase\":\"").append(phase.name())
+            .append("\",\"start\":\"").append(toInstant(callStartNanos, epochMillis, startNanos))
+            .append("\",\"startNanos\":").append(callStartNanos)
+            .append(",\"endNanos\":").append(callEndNanos)
+            .append(",\"durationMicros\":").append((callEndNanos - callStartNanos) / 1000)
+            .append(",\"outcome\":\"").append(failure == null ? "success" : "failure").append('"');
+        if (failure != null) {
+            line.append(",\"failure\":");
+            appendJson(line, failure);
+        }
+        line.append('}');
+    }
+
+    private static Instant toInstant(long nanos, long epochMillis, long startNanos) {
+        return Instant.ofEpochMilli(epochMillis).plusNanos(nanos - startNanos);
+    }
+
+    private static String getString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void appendJson(StringBuilder line, String text) {
+        if (text == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': line.append("\\\""); break;
+                case '\\': line.append("\\\\"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\t': line.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    }
+                    else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.log;
+
+import io.perfana.eventscheduler.api.EventLogger;
+import io.perfana.eventscheduler.util.RingBuffer;
+import net.jcip.annotations.ThreadSafe;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs to standard out, or another print stream, from one background writer thread.
+ * <br/>
+ * A log call only copies the level, message, thread name and time into a pre-allocated slot of
+ * a ring buffer, so it does not allocate and does not contend on the lock of standard out.
+ * The writer thread formats the log lines, in the same format as {@link EventLoggerStdOut}.
+ * <br/>
+ * When the ring buffer is full the caller waits or the log line is dropped, see {@link LogOverflowPolicy}.
+ * Call {@link #close()} to write all pending log lines, log calls after close are written directly.
+ */
+@ThreadSafe
+public class EventLoggerAsync implements EventLogger, AutoCloseable {
+
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final AtomicLong WRITER_COUNT = new AtomicLong();
+
+    private final PrintStream out;
+    private final boolean debug;
+    private final ZoneId zoneId = ZoneId.systemDefault();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final RingBuffer<Slot> lines;
+
+    private static final class Slot extends RingBuffer.Entry {
+        private String level;
+        private String message;
+        private String threadName;
+        private Throwable throwable;
+        private long timeMillis;
+    }
+
+    public EventLoggerAsync(boolean debug) {
+        this(System.out, debug, DEFAULT_CAPACITY, LogOverflowPolicy.BLOCK);
+    }
+
+    /**
+     * @param capacity the number of log lines in the ring buffer, rounded up to a power of two
+     */
+    public EventLoggerAsync(PrintStream out, boolean debug, int capacity, LogOverflowPolicy overflowPolicy) {
+        this.out = out;
+        this.debug = debug;
+        this.lines = new RingBuffer<>(capacity, Slot::new, overflowPolicy == LogOverflowPolicy.DROP, new Writer(),
+            "EventLoggerAsync-Writer-" + WRITER_COUNT.incrementAndGet());
+    }
+
+    @Override
+    public void info(final String message) {
+        log("INFO ", message, null);
+    }
+
+    @Override
+    public void warn(final String message) {
+        log("WARN ", message, null);
+    }
+
+    @Override
+    public void error(final String message) {
+        log("ERROR", message, null);
+    }
+
+    @Override
+    public void error(final String message, Throwable throwable) {
+        log("ERROR", message, throwable);
+    }
+
+    @Override
+    public void debug(final String message) {
+        if (debug) log("DEBUG", message, null);
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return debug;
+    }
+
+    /**
+     * @return the number of log lines dropped because the ring buffer was full
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    private void log(String level, String message, Throwable throwable) {
+        Slot slot = lines.claim();
+        if (slot == null) {
+            if (lines.isClosed()) {
+                writeDirect(level, message, throwable);
+            }
+            else {
+                droppedCount.incrementAndGet();
+            }
+            return;
+        }
+        slot.level = level;
+        slot.message = message;
+        slot.throwable = throwable;
+        slot.threadName = Thread.currentThread().getName();
+        slot.timeMillis = System.currentTimeMillis();
+        lines.publish(slot);
+    }
+
+    /**
+     * Formats and writes the log lines on the writer thread of the ring buffer.
+     */
+    private final class Writer implements RingBuffer.Consumer<Slot> {
+
+        private final StringBuilder line = new StringBuilder(256);
+
+        @Override
+        public void consume(Slot slot) {
+            write(line, slot.level, slot.message, slot.threadName, slot.throwable, slot.timeMillis);
+            slot.message = null;
+            slot.throwable = null;
+        }
+
+        @Override
+        public void caughtUp(long position) {
+            out.flush();
+        }
+
+        @Override
+        public void closed(long position) {
+            out.flush();
+        }
+    }
+
+    private void write(StringBuilder line, String level, String message, String threadName, Throwable throwable, long timeMillis) {
+        line.setLength(0);
+        TIME_FORMATTER.formatTo(LocalTime.ofInstant(Instant.ofEpochMilli(timeMillis), zoneId), line);
+        line.append(" ## ").append(level)
+            .append(" ## ").append(threadName)
+            .append(" ## ").append(message);
+        if (throwable != null) {
+            line.append(' ').append(throwable.getClass().getName()).append(": ").append(throwable.getMessage());
+        }
+        out.println(line);
+        if (throwable != null) {
+            throwable.printStackTrace(out);
+        }
+    }
+
+    private void writeDirect(String level, String message, Throwable throwable) {
+        synchronized (out) {
+            write(new StringBuilder(128), level, message, Thread.currentThread().getName(), throwable, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Wait until all log lines logged before this call are written.
+     */
+    public void flush() {
+        long target = lines.position();
+        lines.awaitConsumer(() -> lines.consumedPosition() >= target, System.currentTimeMillis() + CLOSE_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * Write all pending log lines and stop the writer thread.
+     */
+    @Override
+    public void close() {
+        lines.close(CLOSE_TIMEOUT_MILLIS);
+        out.flush();
+    }
+}
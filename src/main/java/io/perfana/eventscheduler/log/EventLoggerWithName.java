@@ -19,14 +19,13 @@ import io.perfana.eventscheduler.api.EventLogger;
 
 public class EventLoggerWithName implements EventLogger {
 
-    private final String name;
-    private final String classname;
     private final EventLogger logger;
+    // formatted once, instead of a String.format per log call
+    private final String prefix;
 
     public EventLoggerWithName(String name, String classname, EventLogger logger) {
-        this.name = name;
-        this.classname = removePackages(classname);
         this.logger = logger;
+        this.prefix = "[" + removePackages(classname) + "] [" + name + "] ";
     }
 
     private String removePackages(String classname) {
@@ -65,10 +64,10 @@ public class EventLoggerWithName implements EventLogger {
 
     @Override
     public boolean isDebugEnabled() {
-        return true;
+        return logger.isDebugEnabled();
     }
 
     private String formatMessage(String message) {
-        return String.format("[%s] [%s] %s", classname, name, message);
+        return prefix + message;
     }
 }
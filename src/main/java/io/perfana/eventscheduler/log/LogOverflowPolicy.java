@@ -0,0 +1,30 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.log;
+
+/**
+ * What to do when a log call is made and the ring buffer of the {@link EventLoggerAsync} is full.
+ */
+public enum LogOverflowPolicy {
+    /**
+     * The caller waits until there is room in the ring buffer.
+     */
+    BLOCK,
+    /**
+     * The log line is dropped.
+     */
+    DROP
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.util;
+
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded ring buffer of pre-allocated entries, filled by many producer threads and consumed by one
+ * background consumer thread.
+ * <br/>
+ * A producer claims an entry, fills its fields and publishes it: this does not allocate and does not wait
+ * on a lock. When the ring buffer is full the producer waits for the consumer, or gets no entry with
+ * drop when full. After {@link #close()} the consumer consumes all published entries and stops,
+ * producers get no entry anymore.
+ *
+ * @param <E> the entry, its fields are written by the producer before publish and read by the consumer
+ */
+@ThreadSafe
+public final class RingBuffer<E extends RingBuffer.Entry> {
+
+    private static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final E[] entries;
+    private final int mask;
+    private final boolean dropWhenFull;
+    private final Consumer<E> consumer;
+    private final Thread consumerThread;
+
+    // next position to claim by the producers
+    private final AtomicLong tail = new AtomicLong();
+    // producers between the check of closed and the publish of their entry
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // positions below are consumed, only updated by the consumer thread
+    private volatile long consumed;
+    private volatile boolean consumerWaiting;
+    private volatile boolean closed;
+
+    /**
+     * An entry is free for the producer at position p when sequence == p,
+     * and filled for the consumer when sequence == p + 1.
+     */
+    public abstract static class Entry {
+        volatile long sequence;
+    }
+
+    public interface Consumer<E> {
+        /**
+         * Consume the fields of the entry, clear the references that should not be kept until the next round.
+         */
+        void consume(E entry);
+
+        /**
+         * Called when the consumer caught up with the producers: the entries below the position are consumed.
+         */
+        default void caughtUp(long position) {}
+
+        /**
+         * Called each time before the consumer thread waits for new entries, and when it wakes up.
+         */
+        default void waiting(long position) {}
+
+        /**
+         * Called on the consumer thread after the last entry is consumed, before the consumer thread stops.
+         */
+        default void closed(long position) {}
+    }
+
+    /**
+     * @param capacity the number of entries, rounded up to a power of two
+     * @param entryFactory creates the pre-allocated entries
+     * @param dropWhenFull claim returns null when full, instead of waiting for the consumer
+     * @param consumerThreadName name of the daemon consumer thread, that is started here
+     */
+    @SuppressWarnings("unchecked")
+    public RingBuffer(int capacity, Supplier<E> entryFactory, boolean dropWhenFull, Consumer<E> consumer, String consumerThreadName) {
+        int size = capacity <= 2 ? 2 : Integer.highestOneBit(capacity - 1) << 1;
+        this.entries = (E[]) new Entry[size];
+        for (int i = 0; i < size; i++) {
+            entries[i] = entryFactory.get();
+            entries[i].sequence = i;
+        }
+        this.mask = size - 1;
+        this.dropWhenFull = dropWhenFull;
+        this.consumer = consumer;
+        this.consumerThread = new Thread(this::consumeLoop, consumerThreadName);
+        this.consumerThread.setDaemon(true);
+        this.consumerThread.start();
+    }
+
+    /**
+     * Claim an entry to fill, always {@link #publish(Entry)} a claimed entry.
+     * @return the entry, or null when closed, or when full with drop when full
+     */
+    public E claim() {
+        inFlight.incrementAndGet();
+        if (closed) {
+            inFlight.decrementAndGet();
+            return null;
+        }
+        while (true) {
+            long position = tail.get();
+            E entry = entries[(int) (position & mask)];
+            long sequence = entry.sequence;
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return entry;
+                }
+            }
+            else if (sequence < position) {
+                // full: the consumer did not yet free the entry of the previous round,
+                // also after close the consumer runs until this producer has published
+                if (dropWhenFull) {
+                    inFlight.decrementAndGet();
+                    return null;
+                }
+                LockSupport.unpark(consumerThread);
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+            // else another producer claimed this position, try the next
+        }
+    }
+
+    public void publish(E entry) {
+        // the entry at position p is claimed when sequence == p
+        entry.sequence = entry.sequence + 1;
+        inFlight.decrementAndGet();
+        if (consumerWaiting) {
+            LockSupport.unpark(consumerThread);
+        }
+    }
+
+    private void consumeLoop() {
+        long head = 0;
+        while (true) {
+            E entry = entries[(int) (head & mask)];
+            if (entry.sequence == head + 1) {
+                consumer.consume(entry);
+                // free the entry for the next round
+                entry.sequence = head + entries.length;
+                head++;
+                // report progress per batch, when caught up with the producers
+                if (entries[(int) (head & mask)].sequence != head + 1) {
+                    consumed = head;
+                    consumer.caughtUp(head);
+                }
+            }
+            // all producers that saw closed == false have published when none are in flight
+            else if (closed && inFlight.get() == 0 && head == tail.get()) {
+                consumed = head;
+                consumer.closed(head);
+                return;
+            }
+            else {
+                consumer.waiting(head);
+                consumerWaiting = true;
+                if (entry.sequence != head + 1 && !closed) {
+                    LockSupport.parkNanos(this, CONSUMER_PARK_NANOS);
+                }
+                consumerWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * @return the next position to claim: the entries claimed before are below it
+     */
+    public long position() {
+        return tail.get();
+    }
+
+    /**
+     * @return the entries below this position are consumed
+     */
+    public long consumedPosition() {
+        return consumed;
+    }
+
+    /**
+     * Wait until the condition is true, while the consumer thread runs, at most until the deadline.
+     * The consumer thread is woken up meanwhile, so {@link Consumer#waiting(long)} sees new requests.
+     */
+    public void awaitConsumer(BooleanSupplier condition, long deadlineMillis) {
+        while (!condition.getAsBoolean() && consumerThread.isAlive() && System.currentTimeMillis() < deadlineMillis) {
+            LockSupport.unpark(consumerThread);
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+    }
+
+    /**
+     * Consume the published entries and stop the consumer thread, new claims return null.
+     * @return true if the consumer thread stopped within the timeout
+     */
+    public boolean close(long timeoutMillis) {
+        closed = true;
+        LockSupport.unpark(consumerThread);
+        try {
+            consumerThread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !consumerThread.isAlive();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+}
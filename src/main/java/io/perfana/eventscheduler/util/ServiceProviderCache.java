@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.util;
+
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import net.jcip.annotations.ThreadSafe;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Caches the class names of the service providers on the classpath per class loader, so repeated
+ * builds in the same jvm do not scan the classpath again.
+ * <br/>
+ * Only the class names are cached, not the classes or instances, so the cache does not keep a class loader alive.
+ * The providers are instantiated on demand with {@link #newInstance(Class, String, ClassLoader)}.
+ */
+@ThreadSafe
+public final class ServiceProviderCache {
+
+    // provider class names per service class name, per class loader
+    private static final Map<ClassLoader, Map<String, List<String>>> providerClassNames = new WeakHashMap<>();
+
+    private ServiceProviderCache() {
+    }
+
+    /**
+     * @param classLoader the class loader, if null the default class loader of Java's ServiceLoader is used
+     * @return the class names of the providers of the service, in classpath order
+     */
+    public static List<String> providerClassNames(Class<?> service, ClassLoader classLoader) {
+        ClassLoader loader = serviceClassLoader(classLoader);
+        synchronized (providerClassNames) {
+            return providerClassNames
+                .computeIfAbsent(loader, key -> new HashMap<>())
+                .computeIfAbsent(service.getName(), key -> scan(service, loader));
+        }
+    }
+
+    /**
+     * Does not instantiate the providers: the stream of the ServiceLoader only loads the provider classes.
+     */
+    private static List<String> scan(Class<?> service, ClassLoader loader) {
+        return ServiceLoader.load(service, loader).stream()
+            .map(provider -> provider.type().getName())
+            .distinct()
+            .collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+    }
+
+    /**
+     * Create a new instance of the provider, via its public no-args constructor, like the ServiceLoader does.
+     */
+    public static <S> S newInstance(Class<S> service, String className, ClassLoader classLoader) {
+        try {
+            Class<?> providerClass = Class.forName(className, true, serviceClassLoader(classLoader));
+            return service.cast(providerClass.getConstructor().newInstance());
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new EventSchedulerRuntimeException("cannot create service provider " + className + " for " + service.getName(), e);
+        }
+    }
+
+    /**
+     * Remove the cached class names, for instance after jars are added to a class loader.
+     */
+    public static void clear() {
+        synchronized (providerClassNames) {
+            providerClassNames.clear();
+        }
+    }
+
+    private static ClassLoader serviceClassLoader(ClassLoader classLoader) {
+        if (classLoader != null) {
+            return classLoader;
+        }
+        // same default as ServiceLoader.load(service)
+        ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader == null ? ClassLoader.getSystemClassLoader() : contextClassLoader;
+    }
+}
@@ -28,6 +28,7 @@ public class TestRunConfigUtil {
 
     public static final String MESSAGE_KEY_VALUE_DELIMITER = "\u0000";
     public static final String VALUE_LIST_DELIMITER = "\n";
+    public static final String MESSAGE_TYPE_TEST_RUN_CONFIG = "test-run-config";
 
     private TestRunConfigUtil() {}
 
@@ -35,7 +36,7 @@ public class TestRunConfigUtil {
 
         return EventMessage.builder()
                 .pluginName(pluginName)
-                .variable("message-type", "test-run-config")
+                .variable(EventMessage.MESSAGE_TYPE_VARIABLE, MESSAGE_TYPE_TEST_RUN_CONFIG)
                 .variable("output", output)
                 .variable("key", key)
                 .variable("tags", tags)
@@ -51,7 +52,7 @@ public class TestRunConfigUtil {
 
         return EventMessage.builder()
                 .pluginName(pluginName)
-                .variable("message-type", "test-run-config")
+                .variable(EventMessage.MESSAGE_TYPE_VARIABLE, MESSAGE_TYPE_TEST_RUN_CONFIG)
                 .variable("output", "keys")
                 .variable("tags", tags)
                 .variable("excludes", "")
@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class CustomEventSchedulerTimingWheelTest {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void runTasksInDeadlineOrderAndNotEarly() throws InterruptedException {
+        // small wheel, so most tasks need multiple rounds of the wheel
+        CustomEventSchedulerTimingWheel wheel = new CustomEventSchedulerTimingWheel(TICK_NANOS, 8, Executors.newSingleThreadExecutor(), "test-wheel");
+
+        int taskCount = 20;
+        long[] deadlines = new long[taskCount];
+        long[] runTimes = new long[taskCount];
+        List<Integer> runOrder = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch latch = new CountDownLatch(taskCount);
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            final int task = i;
+            tasks.add(() -> {
+                runTimes[task] = System.nanoTime();
+                runOrder.add(task);
+                latch.countDown();
+            });
+        }
+
+        // schedule in reverse order, the first task has a deadline in the past
+        long start = System.nanoTime();
+        for (int i = taskCount - 1; i >= 0; i--) {
+            deadlines[i] = start + TimeUnit.MILLISECONDS.toNanos(i == 0 ? -5 : 10 + i * 5L);
+            wheel.schedule(tasks.get(i), deadlines[i]);
+        }
+
+        assertTrue("all tasks should have run", latch.await(2, TimeUnit.SECONDS));
+        wheel.shutdownNow();
+        for (int i = 0; i < taskCount; i++) {
+            assertEquals("run order", i, (int) runOrder.get(i));
+            assertTrue("task " + i + " should not run early", runTimes[i] >= deadlines[i]);
+        }
+    }
+
+    @Test
+    public void earlierTaskWakesUpWaitingWorker() throws InterruptedException {
+        CustomEventSchedulerTimingWheel wheel = new CustomEventSchedulerTimingWheel(TICK_NANOS, 512, Executors.newSingleThreadExecutor(), "test-wheel");
+
+        CountDownLatch later = new CountDownLatch(1);
+        CountDownLatch earlier = new CountDownLatch(1);
+        // the worker waits for the bucket of the later task, also in a next round of the wheel
+        wheel.schedule(later::countDown, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(1200));
+        Thread.sleep(50);
+        wheel.schedule(earlier::countDown, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTrue("earlier task should run before the later task", earlier.await(1, TimeUnit.SECONDS));
+        assertEquals(1, later.getCount());
+        assertTrue("later task should run", later.await(2, TimeUnit.SECONDS));
+        wheel.shutdownNow();
+    }
+
+    @Test
+    public void workerIsDaemon() {
+        CustomEventSchedulerTimingWheel wheel = new CustomEventSchedulerTimingWheel(TICK_NANOS, 512, Executors.newSingleThreadExecutor(), "test-wheel-daemon");
+
+        Thread worker = Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().equals("test-wheel-daemon"))
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+        wheel.shutdownNow();
+
+        assertTrue("worker should not keep the jvm alive", worker.isDaemon());
+    }
+
+    @Test
+    public void shutdownNowReturnsTasksThatDidNotRun() {
+        CustomEventSchedulerTimingWheel wheel = new CustomEventSchedulerTimingWheel(TICK_NANOS, 512, Executors.newSingleThreadExecutor(), "test-wheel");
+
+        Runnable task = () -> fail("task should not run");
+        wheel.schedule(task, System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+
+        List<Runnable> notRun = wheel.shutdownNow();
+
+        assertEquals(1, notRun.size());
+        assertSame(task, notRun.get(0));
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void scheduleAfterShutdown() {
+        CustomEventSchedulerTimingWheel wheel = new CustomEventSchedulerTimingWheel(TICK_NANOS, 512, Executors.newSingleThreadExecutor(), "test-wheel");
+        wheel.shutdownNow();
+        wheel.schedule(() -> {}, System.nanoTime());
+    }
+
+}
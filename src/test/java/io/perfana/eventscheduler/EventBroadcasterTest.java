@@ -18,22 +18,35 @@ package io.perfana.eventscheduler;
 import io.perfana.eventscheduler.api.*;
 import io.perfana.eventscheduler.api.config.EventConfig;
 import io.perfana.eventscheduler.api.config.EventContext;
+import io.perfana.eventscheduler.api.config.EventSchedulerConfig;
 import io.perfana.eventscheduler.api.config.TestConfig;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import io.perfana.eventscheduler.exception.handler.AbortSchedulerException;
 import io.perfana.eventscheduler.exception.handler.KillSwitchException;
 import io.perfana.eventscheduler.exception.handler.StopTestRunException;
 import io.perfana.eventscheduler.log.CountErrorsEventLogger;
+import io.perfana.eventscheduler.log.CountLogMatchesEventLogger;
+import io.perfana.eventscheduler.log.EventLoggerDevNull;
 import io.perfana.eventscheduler.log.EventLoggerStdOut;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static io.perfana.eventscheduler.log.EventLoggerStdOut.INSTANCE_DEBUG;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.internal.verification.VerificationModeFactory.times;
@@ -96,6 +109,27 @@ public class EventBroadcasterTest {
         assertEquals("one errors expected in logger", 1, countErrorsEventLogger.errorCount());
     }
 
+    @Test
+    public void broadcastCustomEventWithVirtualThreads() {
+
+        CountErrorsEventLogger countErrorsEventLogger = CountErrorsEventLogger.of(EventLoggerStdOut.INSTANCE);
+
+        final AtomicInteger counter = new AtomicInteger(0);
+
+        List<Event> events = new ArrayList<>();
+        events.add(new MyTestEventThatCanFail(counter, 0, 1, countErrorsEventLogger));
+
+        // falls back to platform threads when virtual threads are not supported
+        EventBroadcaster broadcaster = EventBroadcasterFactory.asyncVirtualThreads().create(events, countErrorsEventLogger);
+
+        broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|test-event"));
+
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+
+        assertEquals("counter should be set to 1 by the event", 1, counter.intValue());
+        assertEquals("zero errors expected in logger", 0, countErrorsEventLogger.errorCount());
+    }
+
     private static class MyTestEventThatCanFail extends EventAdapter<EventContext> {
 
         private final static EventContext eventContext = configWithName("MyTestEventThatCanFail");
@@ -163,6 +197,326 @@ public class EventBroadcasterTest {
         assertEquals("five errors expected in logger", 5, countErrorsEventLogger.errorCount());
     }
 
+    @Test
+    public void broadcastKeepAliveWithEventTimeout() {
+        CountErrorsEventLogger countErrorsEventLogger = CountErrorsEventLogger.of(EventLoggerStdOut.INSTANCE);
+
+        EventConfig slowConfig = EventConfig.builder().name("slow").keepAliveTimeoutInSeconds(1).build();
+        EventConfig fastConfig = EventConfig.builder().name("fast").build();
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .keepAliveTimeoutInSeconds(10)
+            .eventConfig(slowConfig)
+            .eventConfig(fastConfig)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        List<Event> events = new ArrayList<>();
+        events.add(new MySlowKeepAliveEvent(slowConfig.toContext(), countErrorsEventLogger));
+        events.add(new MySlowKeepAliveEvent(fastConfig.toContext(), countErrorsEventLogger));
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, countErrorsEventLogger, eventSchedulerConfig.toContext(countErrorsEventLogger));
+
+        long startTime = System.currentTimeMillis();
+        broadcaster.broadcastKeepAlive();
+        long durationMillis = System.currentTimeMillis() - startTime;
+
+        assertTrue("should stop waiting for the slow event after its 1 second timeout: " + durationMillis, durationMillis < 2500);
+
+        broadcaster.shutdownAndWaitAllTasksDone(0);
+        assertEquals("one timeout error expected in logger", 1, countErrorsEventLogger.errorCount());
+    }
+
+    @Test
+    public void broadcastKeepAliveCoalescedInSerialLane() {
+        CountLogMatchesEventLogger matchLogger = CountLogMatchesEventLogger.ofIncludingWarn(EventLoggerStdOut.INSTANCE,
+            s -> s.contains("previous keep alive call is still"));
+
+        EventConfig slowConfig = EventConfig.builder().name("slow").keepAliveTimeoutInSeconds(1).build();
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .serialCallsPerEventEnabled(true)
+            .eventConfig(slowConfig)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        List<Event> events = Collections.singletonList(new MySlowKeepAliveEvent(slowConfig.toContext(), matchLogger));
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, matchLogger, eventSchedulerConfig.toContext(matchLogger));
+
+        // first keep alive runs and hangs, the others skip the event instead of queueing in its lane
+        for (int i = 0; i < 5; i++) {
+            broadcaster.broadcastKeepAlive();
+        }
+
+        broadcaster.shutdownAndWaitAllTasksDone(0);
+        assertEquals("four skipped keep alives expected", 4, matchLogger.matchCount());
+    }
+
+    @Test
+    public void broadcastKeepAliveSkipsOnlyHangingEvent() {
+        CountLogMatchesEventLogger matchLogger = CountLogMatchesEventLogger.ofIncludingWarn(EventLoggerStdOut.INSTANCE,
+            s -> s.contains("previous keep alive call is still"));
+
+        EventConfig slowConfig = EventConfig.builder().name("slow").keepAliveTimeoutInSeconds(1).build();
+        EventConfig fastConfig = EventConfig.builder().name("fast").build();
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .eventConfig(slowConfig)
+            .eventConfig(fastConfig)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        List<Event> events = new ArrayList<>();
+        events.add(new MySlowKeepAliveEvent(slowConfig.toContext(), matchLogger));
+        events.add(new MySlowKeepAliveEvent(fastConfig.toContext(), matchLogger));
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, matchLogger, eventSchedulerConfig.toContext(matchLogger));
+
+        broadcaster.broadcastKeepAlive();
+        long startTime = System.currentTimeMillis();
+        broadcaster.broadcastKeepAlive();
+        long durationMillis = System.currentTimeMillis() - startTime;
+
+        broadcaster.shutdownAndWaitAllTasksDone(0);
+        assertTrue("should not wait for the hanging event: " + durationMillis, durationMillis < 500);
+        assertEquals("one skipped keep alive expected", 1, matchLogger.matchCount());
+        EventCallMetrics fastMetrics = broadcaster.getCallMetrics().stream()
+            .filter(metrics -> metrics.getEventName().equals("fast") && metrics.getPhase() == EventPhase.KEEP_ALIVE)
+            .findFirst()
+            .orElseThrow(AssertionError::new);
+        assertEquals("fast event is called on both keep alives", 2, fastMetrics.getCallCount());
+    }
+
+    @Test
+    public void broadcastKeepAliveLogsStopRunVotes() {
+        for (EventBroadcasterFactory factory : Arrays.asList(EventBroadcasterFactory.sequential(), EventBroadcasterFactory.async())) {
+            CountLogMatchesEventLogger matchLogger = CountLogMatchesEventLogger.of(EventLoggerStdOut.INSTANCE,
+                s -> s.equals("Found 0 of expected 1 stop run exceptions."));
+            List<Event> events = Collections.singletonList(new MyKeepAliveResultEvent(
+                EventConfig.builder().name("participant").continueOnKeepAliveParticipant(true).build().toContext(), KeepAliveResult.CONTINUE));
+            EventBroadcaster broadcaster = factory.create(events, matchLogger);
+
+            broadcaster.broadcastKeepAlive();
+            broadcaster.broadcastKeepAlive();
+            broadcaster.shutdownAndWaitAllTasksDone(2);
+
+            assertEquals("stop run votes logged on each keep alive", 2, matchLogger.matchCount());
+        }
+    }
+
+    @Test
+    public void broadcastWithListener() {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+
+        EventBroadcaster broadcaster = new EventBroadcasterAsync(createTestEvents(EventLoggerStdOut.INSTANCE), EventLoggerStdOut.INSTANCE);
+        broadcaster.setBroadcastListener((eventName, phase, startNanos, endNanos, failure) -> {
+            assertTrue("end should not be before start", endNanos >= startNanos);
+            calls.add(phase + " " + eventName + " " + (failure == null ? "success" : "failure"));
+        });
+
+        broadcaster.broadcastBeforeTest();
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+
+        Collections.sort(calls);
+        assertEquals(Arrays.asList("BEFORE_TEST error1 failure", "BEFORE_TEST sleepy1 success",
+            "BEFORE_TEST sleepy2 success", "BEFORE_TEST sleepy3 success"), calls);
+    }
+
+    @Test
+    public void broadcastCallMetrics() {
+        EventBroadcaster broadcaster = new EventBroadcasterAsync(createTestEvents(EventLoggerStdOut.INSTANCE), EventLoggerStdOut.INSTANCE);
+
+        broadcaster.broadcastBeforeTest();
+        broadcaster.broadcastBeforeTest();
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+
+        List<EventCallMetrics> callMetrics = broadcaster.getCallMetrics();
+        assertEquals(4, callMetrics.size());
+        for (EventCallMetrics metrics : callMetrics) {
+            assertEquals(EventPhase.BEFORE_TEST, metrics.getPhase());
+            assertEquals(2, metrics.getCallCount());
+            assertEquals(metrics.getEventName().startsWith("error") ? 2 : 0, metrics.getErrorCount());
+            assertTrue("calls sleep 200 millis: " + metrics, metrics.getP50().toMillis() >= 190);
+            assertTrue(metrics.getMax().compareTo(metrics.getP50()) >= 0);
+        }
+    }
+
+    @Test
+    public void broadcastSkipsNotImplementedCalls() {
+        assertEquals(EnumSet.of(EventPhase.KEEP_ALIVE, EventPhase.CUSTOM_EVENT, EventPhase.CHECK),
+            EventPhaseFilter.implementedPhases(MyOrderedEvent.class));
+        assertEquals(EnumSet.allOf(EventPhase.class), EventPhaseFilter.implementedPhases(Event.class));
+
+        for (boolean skip : new boolean[] { true, false }) {
+            EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+                .skipNotImplementedCallsEnabled(skip)
+                .testConfig(TestConfig.builder().build())
+                .build();
+            for (EventBroadcasterFactory factory : Arrays.asList(EventBroadcasterFactory.sequential(), EventBroadcasterFactory.async())) {
+                List<Event> events = Collections.singletonList(
+                    new MyOrderedEvent(configWithName("ordered"), new ArrayList<>(), new AtomicInteger(), new AtomicInteger()));
+                EventBroadcaster broadcaster = factory
+                    .create(events, EventLoggerStdOut.INSTANCE, eventSchedulerConfig.toContext(EventLoggerStdOut.INSTANCE));
+
+                broadcaster.broadcastBeforeTest();
+                broadcaster.broadcastKeepAlive();
+                broadcaster.shutdownAndWaitAllTasksDone(2);
+
+                Set<EventPhase> calledPhases = broadcaster.getCallMetrics().stream()
+                    .filter(metrics -> metrics.getCallCount() > 0)
+                    .map(EventCallMetrics::getPhase)
+                    .collect(Collectors.toSet());
+                assertEquals(skip ? EnumSet.of(EventPhase.KEEP_ALIVE) : EnumSet.of(EventPhase.BEFORE_TEST, EventPhase.KEEP_ALIVE), calledPhases);
+            }
+        }
+    }
+
+    @Test
+    public void broadcastCustomEventWithBulkheadReject() {
+        // one call in flight and one call in the queue, the other calls are rejected
+        assertEquals(2, callSlowCustomEvents(BulkheadOverflowPolicy.REJECT, 1, "a", "b", "c", "d", "e"));
+    }
+
+    @Test
+    public void broadcastCustomEventWithBulkheadCoalesce() {
+        // one call in flight, the same queued custom event is called once
+        assertEquals(3, callSlowCustomEvents(BulkheadOverflowPolicy.COALESCE, 10, "a", "b", "b", "a", "b"));
+    }
+
+    private int callSlowCustomEvents(BulkheadOverflowPolicy overflowPolicy, int maxQueued, String... customEventNames) {
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .customEventMaxConcurrentCallsPerEvent(1)
+            .customEventMaxQueuedCallsPerEvent(maxQueued)
+            .customEventOverflowPolicy(overflowPolicy)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        AtomicInteger calls = new AtomicInteger();
+        List<Event> events = Collections.singletonList(new MySlowCustomEvent(configWithName("slow"), calls));
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, EventLoggerStdOut.INSTANCE, eventSchedulerConfig.toContext(EventLoggerStdOut.INSTANCE));
+
+        for (String customEventName : customEventNames) {
+            broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|" + customEventName));
+        }
+        // queued calls start when the call in flight is done
+        sleep(1000);
+
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+        return calls.get();
+    }
+
+    @Test
+    public void broadcastCustomEventWithSharedLimit() {
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .customEventMaxConcurrentCalls(1)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            events.add(new MyOrderedEvent(configWithName("limited" + i), calls, inFlight, maxInFlight));
+        }
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, EventLoggerStdOut.INSTANCE, eventSchedulerConfig.toContext(EventLoggerStdOut.INSTANCE));
+
+        broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|limited"));
+        // each finished call wakes up the next event that waits for the shared permit
+        sleep(1500);
+
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+        assertEquals(Arrays.asList("limited", "limited", "limited"), calls);
+        assertEquals("calls to all events should not overlap", 1, maxInFlight.get());
+    }
+
+    @Test
+    public void broadcastCustomEventBatch() {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        List<Event> events = Collections.singletonList(
+            new MyOrderedEvent(configWithName("ordered"), calls, new AtomicInteger(), new AtomicInteger()));
+
+        EventBroadcaster broadcaster = new EventBroadcasterAsync(events, EventLoggerStdOut.INSTANCE);
+
+        broadcaster.broadcastCustomEvents(Arrays.asList(
+            CustomEvent.createFromLine("PT1M|first"), CustomEvent.createFromLine("PT1M|second")));
+
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+
+        // the default customEvents calls customEvent for each custom event of the batch, in order
+        assertEquals(Arrays.asList("first", "second"), calls);
+    }
+
+    @Test
+    public void broadcastCustomEventsWithRouting() {
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .customEventRoutingEnabled(true)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        for (EventBroadcasterFactory factory : Arrays.asList(EventBroadcasterFactory.sequential(), EventBroadcasterFactory.async())) {
+            List<String> restartCalls = Collections.synchronizedList(new ArrayList<>());
+            List<String> scaleCalls = Collections.synchronizedList(new ArrayList<>());
+            List<String> allCalls = Collections.synchronizedList(new ArrayList<>());
+            List<Event> events = Arrays.asList(
+                new MyRoutedEvent(configWithName("restart"), Collections.singletonList("restart"), restartCalls),
+                new MyRoutedEvent(configWithName("scale"), Arrays.asList("scale-up", "scale-down"), scaleCalls),
+                new MyRoutedEvent(configWithName("all"), Collections.singletonList(Event.ALL_CUSTOM_EVENTS), allCalls));
+
+            EventBroadcaster broadcaster = factory
+                .create(events, EventLoggerStdOut.INSTANCE, eventSchedulerConfig.toContext(EventLoggerStdOut.INSTANCE));
+
+            broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|restart"));
+            broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|unknown"));
+            broadcaster.broadcastCustomEvents(Arrays.asList(
+                CustomEvent.createFromLine("PT2M|scale-up"), CustomEvent.createFromLine("PT2M|scale-down")));
+
+            broadcaster.shutdownAndWaitAllTasksDone(2);
+
+            assertEquals(Collections.singletonList("restart"), restartCalls);
+            assertEquals(Arrays.asList("scale-up", "scale-down"), scaleCalls);
+            // separate async custom events can be called in any order
+            assertEquals(new HashSet<>(Arrays.asList("restart", "unknown", "scale-up", "scale-down")), new HashSet<>(allCalls));
+            assertEquals(4, allCalls.size());
+        }
+    }
+
+    @Test
+    public void broadcastWithSerialCallsPerEvent() {
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .serialCallsPerEventEnabled(true)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        List<Event> events = new ArrayList<>();
+        events.add(new MyOrderedEvent(configWithName("ordered1"), calls, inFlight, maxInFlight));
+        events.add(new MyOrderedEvent(configWithName("ordered2"), new ArrayList<>(), new AtomicInteger(), new AtomicInteger()));
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, EventLoggerStdOut.INSTANCE, eventSchedulerConfig.toContext(EventLoggerStdOut.INSTANCE));
+
+        long startTime = System.currentTimeMillis();
+        broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|first"));
+        broadcaster.broadcastCustomEvent(CustomEvent.createFromLine("PT1M|second"));
+        broadcaster.broadcastKeepAlive();
+        long durationMillis = System.currentTimeMillis() - startTime;
+
+        broadcaster.shutdownAndWaitAllTasksDone(2);
+
+        assertEquals(Arrays.asList("first", "second", "keep-alive"), calls);
+        assertEquals("calls to one event should not overlap", 1, maxInFlight.get());
+        assertTrue("keep alive should wait for the custom events of both events in parallel: " + durationMillis,
+            durationMillis >= 550 && durationMillis < 1000);
+    }
+
     @Test(expected = KillSwitchException.class)
     public void broadcastKeepAliveWithKillSwitchExceptionAsync() {
         // what happens when an event throws a KillSwitchException?
@@ -175,6 +529,101 @@ public class EventBroadcasterTest {
         broadcaster.shutdownAndWaitAllTasksDone(2);
     }
 
+    @Test
+    public void broadcastKeepAliveWithKillSwitchExceptionFailFast() {
+        EventSchedulerConfig eventSchedulerConfig = EventSchedulerConfig.builder()
+            .keepAliveFailFastEnabled(true)
+            .testConfig(TestConfig.builder().build())
+            .build();
+
+        List<Event> events = new ArrayList<>();
+        events.add(new MySlowKeepAliveEvent(configWithName("slow1"), EventLoggerStdOut.INSTANCE));
+        events.add(new MyKillSwitchEvent(configWithName("killer1")));
+
+        EventBroadcaster broadcaster = EventBroadcasterFactory.async()
+            .create(events, EventLoggerStdOut.INSTANCE, eventSchedulerConfig.toContext(EventLoggerStdOut.INSTANCE));
+
+        long startTime = System.currentTimeMillis();
+        try {
+            broadcaster.broadcastKeepAlive();
+            fail("expected a KillSwitchException");
+        } catch (KillSwitchException e) {
+            long durationMillis = System.currentTimeMillis() - startTime;
+            assertTrue("kill switch should not wait for the slow keep alive: " + durationMillis, durationMillis < 1000);
+        } finally {
+            broadcaster.shutdownAndWaitAllTasksDone(2);
+        }
+    }
+
+    @Test
+    public void broadcastKeepAliveWithResults() {
+        for (EventBroadcasterFactory factory : Arrays.asList(EventBroadcasterFactory.sequential(), EventBroadcasterFactory.async())) {
+            // one participant votes with an exception, the other with a result
+            List<Event> events = new ArrayList<>();
+            events.add(new MyStopTestRunEvent(EventConfig.builder().name("stop-one").continueOnKeepAliveParticipant(true).build().toContext()));
+            events.add(new MyKeepAliveResultEvent(EventConfig.builder().name("stop-two").continueOnKeepAliveParticipant(true).build().toContext(),
+                KeepAliveResult.stopTestRun("stop test run requested from stop-two")));
+            EventBroadcaster broadcaster = factory.create(events, EventLoggerStdOut.INSTANCE);
+            try {
+                broadcaster.broadcastKeepAlive();
+                fail("expected a StopTestRunException");
+            } catch (StopTestRunException e) {
+                assertTrue(e.getMessage().contains("2 stop run exceptions"));
+            } finally {
+                broadcaster.shutdownAndWaitAllTasksDone(2);
+            }
+
+            List<Event> killEvents = new ArrayList<>();
+            killEvents.add(new MyKeepAliveResultEvent(configWithName("continue"), KeepAliveResult.CONTINUE));
+            killEvents.add(new MyKeepAliveResultEvent(configWithName("killer"), KeepAliveResult.kill("kill switch requested from killer")));
+            EventBroadcaster killBroadcaster = factory.create(killEvents, EventLoggerStdOut.INSTANCE);
+            try {
+                killBroadcaster.broadcastKeepAlive();
+                fail("expected a KillSwitchException");
+            } catch (KillSwitchException e) {
+                assertTrue(e.getMessage().contains("kill switch requested from killer"));
+                assertEquals("scheduler handler exceptions have no stack trace", 0, e.getStackTrace().length);
+            } finally {
+                killBroadcaster.shutdownAndWaitAllTasksDone(2);
+            }
+        }
+    }
+
+    @Test
+    public void broadcastKeepAliveAllocationBudget() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocationMXBean.isThreadAllocatedMemorySupported() && allocationMXBean.isThreadAllocatedMemoryEnabled());
+
+        int eventCount = 10;
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < eventCount; i++) {
+            events.add(new MyKeepAliveResultEvent(configWithName("continue" + i), KeepAliveResult.CONTINUE));
+        }
+        EventBroadcaster broadcaster = new EventBroadcasterAsync(events, EventLoggerDevNull.INSTANCE);
+
+        long threadId = Thread.currentThread().getId();
+        try {
+            for (int i = 0; i < 5_000; i++) {
+                broadcaster.broadcastKeepAlive();
+            }
+            int ticks = 5_000;
+            long allocatedBefore = allocationMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < ticks; i++) {
+                broadcaster.broadcastKeepAlive();
+            }
+            long bytesPerTick = (allocationMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / ticks;
+
+            // the broadcast itself allocates nothing, the budget is for the hand-off to the thread pool per call
+            long budgetPerTick = 200L * eventCount;
+            assertTrue("keep alive allocates " + bytesPerTick + " bytes per tick, budget is " + budgetPerTick,
+                bytesPerTick <= budgetPerTick);
+        } finally {
+            broadcaster.shutdownAndWaitAllTasksDone(2);
+        }
+    }
+
     @Test(expected = KillSwitchException.class)
     public void broadcastKeepAliveWithKillSwitchExceptionDefault() {
         // what happens when an event throws a KillSwitchException?
@@ -325,6 +774,89 @@ public class EventBroadcasterTest {
 
     }
 
+    private static class MySlowCustomEvent extends EventAdapter<EventContext> {
+
+        private final AtomicInteger calls;
+
+        public MySlowCustomEvent(EventContext context, AtomicInteger calls) {
+            super(context, TestConfig.builder().build().toContext(), new EventMessageBusSimple(), EventLoggerStdOut.INSTANCE);
+            this.calls = calls;
+        }
+
+        @Override
+        public void customEvent(CustomEvent customEvent) {
+            calls.incrementAndGet();
+            sleep(200);
+        }
+    }
+
+    private static class MyOrderedEvent extends EventAdapter<EventContext> {
+
+        private final List<String> calls;
+        private final AtomicInteger inFlight;
+        private final AtomicInteger maxInFlight;
+
+        public MyOrderedEvent(EventContext context, List<String> calls, AtomicInteger inFlight, AtomicInteger maxInFlight) {
+            super(context, TestConfig.builder().build().toContext(), new EventMessageBusSimple(), EventLoggerStdOut.INSTANCE);
+            this.calls = calls;
+            this.inFlight = inFlight;
+            this.maxInFlight = maxInFlight;
+        }
+
+        @Override
+        public void customEvent(CustomEvent customEvent) {
+            call(customEvent.getName());
+        }
+
+        @Override
+        public void keepAlive() {
+            call("keep-alive");
+        }
+
+        private void call(String name) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            sleep(300);
+            calls.add(name);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static class MyRoutedEvent extends EventAdapter<EventContext> {
+
+        private final List<String> allowedCustomEvents;
+        private final List<String> calls;
+
+        public MyRoutedEvent(EventContext context, List<String> allowedCustomEvents, List<String> calls) {
+            super(context, TestConfig.builder().build().toContext(), new EventMessageBusSimple(), EventLoggerStdOut.INSTANCE);
+            this.allowedCustomEvents = allowedCustomEvents;
+            this.calls = calls;
+        }
+
+        @Override
+        public Collection<String> allowedCustomEvents() {
+            return allowedCustomEvents;
+        }
+
+        @Override
+        public void customEvent(CustomEvent customEvent) {
+            calls.add(customEvent.getName());
+        }
+    }
+
+    private static class MySlowKeepAliveEvent extends EventAdapter<EventContext> {
+
+        public MySlowKeepAliveEvent(EventContext context, EventLogger eventLogger) {
+            super(context, TestConfig.builder().build().toContext(), new EventMessageBusSimple(), eventLogger);
+        }
+
+        @Override
+        public void keepAlive() {
+            if (eventContext.getName().startsWith("slow")) {
+                sleep(5000);
+            }
+        }
+    }
+
     private static class MyKillSwitchEvent extends EventAdapter<EventContext> {
 
         public MyKillSwitchEvent(EventContext eventContext) {
@@ -360,6 +892,21 @@ public class EventBroadcasterTest {
         }
     }
 
+    private static class MyKeepAliveResultEvent extends EventAdapter<EventContext> implements KeepAliveResultEvent {
+
+        private final KeepAliveResult keepAliveResult;
+
+        public MyKeepAliveResultEvent(EventContext eventContext, KeepAliveResult keepAliveResult) {
+            super(eventContext, TestConfig.builder().build().toContext(), new EventMessageBusSimple(), INSTANCE_DEBUG);
+            this.keepAliveResult = keepAliveResult;
+        }
+
+        @Override
+        public KeepAliveResult keepAliveWithResult() {
+            return keepAliveResult;
+        }
+    }
+
     private static class MyErrorEvent extends EventAdapter<EventContext> {
 
         public MyErrorEvent(EventContext context, EventLogger eventLogger) {
@@ -15,13 +15,27 @@
  */
 package io.perfana.eventscheduler;
 
+import io.perfana.eventscheduler.api.message.BackpressurePolicy;
 import io.perfana.eventscheduler.api.message.EventMessage;
 import io.perfana.eventscheduler.api.message.EventMessageBus;
+import io.perfana.eventscheduler.api.message.EventMessageReceiver;
+import io.perfana.eventscheduler.api.message.MessageTypeReceiver;
+import io.perfana.eventscheduler.log.EventLoggerDevNull;
+import io.perfana.eventscheduler.log.EventLoggerStdOut;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class EventMessageBusTest {
 
@@ -43,4 +57,288 @@ public class EventMessageBusTest {
 
         assertEquals("receiver should be called once", 1, called.get());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void removeReceiver() {
+        AtomicInteger calledOne = new AtomicInteger(0);
+        AtomicInteger calledTwo = new AtomicInteger(0);
+        EventMessageReceiver receiverOne = message -> calledOne.incrementAndGet();
+        EventMessageReceiver receiverTwo = message -> calledTwo.incrementAndGet();
+
+        EventMessageBus eventMessageBus = new EventMessageBusSimple();
+        eventMessageBus.addReceiver(receiverOne);
+        eventMessageBus.addReceiver(receiverTwo);
+
+        assertTrue(eventMessageBus.removeReceiver(receiverOne));
+        assertFalse(eventMessageBus.removeReceiver(receiverOne));
+
+        eventMessageBus.send(EventMessage.builder().build());
+
+        assertEquals("removed receiver should not be called", 0, calledOne.get());
+        assertEquals("receiver should be called once", 1, calledTwo.get());
+    }
+
+    @Test
+    public void addReceiverDuringSend() {
+        AtomicInteger called = new AtomicInteger(0);
+
+        EventMessageBus eventMessageBus = new EventMessageBusSimple();
+        eventMessageBus.addReceiver(message -> {
+            if (called.getAndIncrement() == 0) {
+                eventMessageBus.addReceiver(m -> called.incrementAndGet());
+            }
+        });
+
+        eventMessageBus.send(EventMessage.builder().build());
+        assertEquals("receiver added during send should not receive that message", 1, called.get());
+
+        eventMessageBus.send(EventMessage.builder().build());
+        assertEquals("both receivers should receive the second message", 3, called.get());
+    }
+
+    @Test
+    public void sendToMessageTypeReceiver() {
+        assertMessageTypeRouting(new EventMessageBusSimple());
+    }
+
+    @Test
+    public void sendAsyncToMessageTypeReceiver() {
+        assertMessageTypeRouting(new EventMessageBusAsync(EventLoggerStdOut.INSTANCE));
+    }
+
+    private void assertMessageTypeRouting(EventMessageBus eventMessageBus) {
+        List<String> allReceived = Collections.synchronizedList(new ArrayList<>());
+        List<String> configReceived = Collections.synchronizedList(new ArrayList<>());
+        EventMessageReceiver configReceiver = message -> configReceived.add(message.getMessage());
+
+        eventMessageBus.addReceiver(message -> allReceived.add(message.getMessage()));
+        eventMessageBus.addReceiver(configReceiver, "test-run-config");
+
+        eventMessageBus.send(EventMessage.builder().message("go").build());
+        eventMessageBus.send(EventMessage.builder().message("config").variable(EventMessage.MESSAGE_TYPE_VARIABLE, "test-run-config").build());
+        eventMessageBus.send(EventMessage.builder().message("other").variable(EventMessage.MESSAGE_TYPE_VARIABLE, "other-type").build());
+
+        assertTrue(eventMessageBus.removeReceiver(configReceiver));
+        eventMessageBus.send(EventMessage.builder().message("config-after-remove").variable(EventMessage.MESSAGE_TYPE_VARIABLE, "test-run-config").build());
+
+        eventMessageBus.close();
+
+        assertEquals(Arrays.asList("go", "config", "other", "config-after-remove"), allReceived);
+        assertEquals(Collections.singletonList("config"), configReceived);
+    }
+
+    @Test
+    public void defaultMessageTypeReceiverCanBeRemoved() {
+        List<EventMessageReceiver> registered = new CopyOnWriteArrayList<>();
+        EventMessageBus eventMessageBus = new EventMessageBus() {
+            @Override
+            public void send(EventMessage message) {
+                registered.forEach(receiver -> receiver.receive(message));
+            }
+
+            @Override
+            public void addReceiver(EventMessageReceiver eventMessageReceiver) {
+                registered.add(eventMessageReceiver);
+            }
+
+            @Override
+            public boolean removeReceiver(EventMessageReceiver eventMessageReceiver) {
+                return registered.removeIf(receiver -> MessageTypeReceiver.isReceiver(receiver, eventMessageReceiver));
+            }
+        };
+
+        List<String> configReceived = new ArrayList<>();
+        EventMessageReceiver configReceiver = message -> configReceived.add(message.getMessage());
+        eventMessageBus.addReceiver(configReceiver, "test-run-config");
+
+        eventMessageBus.send(EventMessage.builder().message("go").build());
+        eventMessageBus.send(EventMessage.builder().message("config").variable(EventMessage.MESSAGE_TYPE_VARIABLE, "test-run-config").build());
+        assertTrue(eventMessageBus.removeReceiver(configReceiver));
+        eventMessageBus.send(EventMessage.builder().message("config-after-remove").variable(EventMessage.MESSAGE_TYPE_VARIABLE, "test-run-config").build());
+
+        assertEquals(Collections.singletonList("config"), configReceived);
+    }
+
+    @Test
+    public void defaultRemoveReceiverReturnsFalse() {
+        EventMessageBus eventMessageBus = new EventMessageBus() {
+            @Override
+            public void send(EventMessage message) {
+            }
+
+            @Override
+            public void addReceiver(EventMessageReceiver eventMessageReceiver) {
+            }
+        };
+        assertFalse(eventMessageBus.removeReceiver(message -> {}));
+    }
+
+    @Test
+    public void sendAsyncWithSlowReceiver() {
+        List<String> slowReceived = Collections.synchronizedList(new ArrayList<>());
+        List<String> fastReceived = Collections.synchronizedList(new ArrayList<>());
+
+        EventMessageBus eventMessageBus = new EventMessageBusAsync(EventLoggerStdOut.INSTANCE);
+        eventMessageBus.addReceiver(message -> { sleep(50); slowReceived.add(message.getMessage()); });
+        eventMessageBus.addReceiver(message -> fastReceived.add(message.getMessage()));
+
+        long startTime = System.currentTimeMillis();
+        for (int i = 0; i < 5; i++) {
+            eventMessageBus.send(EventMessage.builder().message("message-" + i).build());
+        }
+        long durationMillis = System.currentTimeMillis() - startTime;
+
+        assertTrue("sender should not wait for the slow receiver: " + durationMillis, durationMillis < 50);
+
+        // close delivers all pending messages
+        eventMessageBus.close();
+
+        List<String> expected = Arrays.asList("message-0", "message-1", "message-2", "message-3", "message-4");
+        assertEquals(expected, slowReceived);
+        assertEquals(expected, fastReceived);
+    }
+
+    @Test
+    public void sendAsyncDropNewest() throws InterruptedException {
+        List<String> received = sendToBlockedReceiver(BackpressurePolicy.DROP_NEWEST);
+        assertEquals(Arrays.asList("message-0", "message-1", "message-2"), received);
+    }
+
+    @Test
+    public void sendAsyncDropOldest() throws InterruptedException {
+        List<String> received = sendToBlockedReceiver(BackpressurePolicy.DROP_OLDEST);
+        assertEquals(Arrays.asList("message-0", "message-3", "message-4"), received);
+    }
+
+    @Test
+    public void closeAsyncWhileSendingDropOldest() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger(0);
+        EventMessageBusAsync eventMessageBus = new EventMessageBusAsync(EventLoggerDevNull.INSTANCE, 1, BackpressurePolicy.DROP_OLDEST);
+        eventMessageBus.addReceiver(message -> received.incrementAndGet());
+
+        Thread sender = new Thread(() -> {
+            for (int i = 0; i < 100_000; i++) {
+                eventMessageBus.send(EventMessage.builder().message("message-" + i).build());
+            }
+        });
+        sender.start();
+
+        // the senders can drop queued messages, but not the close of the queue
+        long startTime = System.currentTimeMillis();
+        eventMessageBus.close();
+        long durationMillis = System.currentTimeMillis() - startTime;
+        sender.join();
+
+        assertTrue("close should not wait for the timeout: " + durationMillis, durationMillis < 5_000);
+    }
+
+    @Test
+    public void closeAsyncFromReceiver() throws InterruptedException {
+        CountDownLatch closed = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger(0);
+        EventMessageBusAsync eventMessageBus = new EventMessageBusAsync(EventLoggerStdOut.INSTANCE);
+        eventMessageBus.addReceiver(message -> {
+            received.incrementAndGet();
+            eventMessageBus.close();
+            closed.countDown();
+        });
+
+        long startTime = System.currentTimeMillis();
+        eventMessageBus.send(EventMessage.builder().message("close-please").build());
+        assertTrue(closed.await(1, TimeUnit.SECONDS));
+        long durationMillis = System.currentTimeMillis() - startTime;
+
+        assertTrue("receiver should not wait for its own dispatch thread: " + durationMillis, durationMillis < 1_000);
+        assertEquals(1, received.get());
+    }
+
+    @Test
+    public void receiversSendingToEachOtherDoNotDeadlock() throws InterruptedException {
+        EventMessageBusAsync eventMessageBus = new EventMessageBusAsync(EventLoggerDevNull.INSTANCE, 1, BackpressurePolicy.BLOCK);
+        // each receiver answers a ping with a pong to the other receiver, both queues are full most of the time
+        eventMessageBus.addReceiver(message -> pong(eventMessageBus, message, "b"), "a");
+        eventMessageBus.addReceiver(message -> pong(eventMessageBus, message, "a"), "b");
+
+        Thread sender = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                eventMessageBus.send(EventMessage.builder().message("ping").variable(EventMessage.MESSAGE_TYPE_VARIABLE, i % 2 == 0 ? "a" : "b").build());
+            }
+        });
+        sender.start();
+        sender.join(5_000);
+
+        assertFalse("sender should not wait forever on deadlocked receivers", sender.isAlive());
+        eventMessageBus.close();
+    }
+
+    private static void pong(EventMessageBus eventMessageBus, EventMessage message, String messageType) {
+        if (message.getMessage().equals("ping")) {
+            eventMessageBus.send(EventMessage.builder().message("pong").variable(EventMessage.MESSAGE_TYPE_VARIABLE, messageType).build());
+        }
+    }
+
+    @Test
+    public void closeAsyncWhileSendingCountsAllMessages() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger(0);
+        AtomicInteger sent = new AtomicInteger(0);
+        EventMessageBusAsync eventMessageBus = new EventMessageBusAsync(EventLoggerDevNull.INSTANCE, 4, BackpressurePolicy.BLOCK);
+        eventMessageBus.addReceiver(message -> received.incrementAndGet());
+
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            senders.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    eventMessageBus.send(EventMessage.builder().message("message-" + i).build());
+                    sent.incrementAndGet();
+                }
+            }));
+        }
+        senders.forEach(Thread::start);
+        eventMessageBus.close();
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        // a message sent around the close is delivered or counted as dropped, never lost
+        assertEquals(sent.get(), received.get() + eventMessageBus.getDroppedMessageCount());
+    }
+
+    /**
+     * Sends five messages to a receiver with a queue of two, while the receiver is blocked on the first message.
+     */
+    private List<String> sendToBlockedReceiver(BackpressurePolicy backpressurePolicy) throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch receiving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        EventMessageBusAsync eventMessageBus = new EventMessageBusAsync(EventLoggerStdOut.INSTANCE, 2, backpressurePolicy);
+        eventMessageBus.addReceiver(message -> {
+            receiving.countDown();
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(message.getMessage());
+        });
+
+        eventMessageBus.send(EventMessage.builder().message("message-0").build());
+        assertTrue(receiving.await(1, TimeUnit.SECONDS));
+        for (int i = 1; i < 5; i++) {
+            eventMessageBus.send(EventMessage.builder().message("message-" + i).build());
+        }
+        release.countDown();
+        eventMessageBus.close();
+
+        assertEquals(2, eventMessageBus.getDroppedMessageCount());
+        return received;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
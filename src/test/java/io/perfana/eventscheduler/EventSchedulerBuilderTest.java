@@ -15,15 +15,34 @@
  */
 package io.perfana.eventscheduler;
 
+import io.perfana.eventscheduler.api.KeepAliveMetrics;
 import io.perfana.eventscheduler.api.config.EventConfig;
+import io.perfana.eventscheduler.api.config.EventContext;
 import io.perfana.eventscheduler.api.config.EventSchedulerConfig;
 import io.perfana.eventscheduler.api.config.TestConfig;
+import io.perfana.eventscheduler.api.config.TestContext;
+import io.perfana.eventscheduler.api.message.EventMessage;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import io.perfana.eventscheduler.log.EventLoggerStdOut;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class EventSchedulerBuilderTest {
 
@@ -98,6 +117,134 @@ public class EventSchedulerBuilderTest {
         eventScheduler.startSession();
     }
 
+    @Test
+    public void testParallelBuild() {
+        String factoryClassName = "io.perfana.eventscheduler.event.EventFactoryDefault";
+
+        EventSchedulerConfig.EventSchedulerConfigBuilder configBuilder = EventSchedulerConfig.builder()
+            .testConfig(TestConfig.builder().build())
+            .parallelBuildEnabled(true);
+        for (int i = 0; i < 5; i++) {
+            configBuilder.eventConfig(EventConfig.builder().name("Event" + i).eventFactory(factoryClassName).build());
+        }
+
+        EventScheduler eventScheduler = new EventSchedulerBuilderInternal()
+            .setEventSchedulerContext(configBuilder.build().toContext(EventLoggerStdOut.INSTANCE))
+            .build();
+
+        eventScheduler.startSession();
+        eventScheduler.stopSession();
+    }
+
+    @Test
+    public void testMessagesAfterStopSessionAreDelivered() {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        EventMessageBusAsync eventMessageBus = new EventMessageBusAsync(EventLoggerStdOut.INSTANCE);
+        eventMessageBus.addReceiver(message -> received.add(message.getMessage()));
+
+        EventScheduler eventScheduler = new EventSchedulerBuilderInternal()
+            .setEventSchedulerContext(EventSchedulerConfig.builder().testConfig(TestConfig.builder().build()).build().toContext(EventLoggerStdOut.INSTANCE))
+            .setEventMessageBus(eventMessageBus)
+            .build();
+
+        eventScheduler.startSession();
+        eventScheduler.stopSession();
+        eventScheduler.sendMessage(EventMessage.builder().message("after-stop").build());
+        eventScheduler.close();
+        eventScheduler.sendMessage(EventMessage.builder().message("after-close").build());
+
+        assertTrue(received.contains("after-stop"));
+        assertFalse(received.contains("after-close"));
+    }
+
+    @Test
+    public void testKeepAliveMetrics() throws InterruptedException {
+        EventSchedulerConfig config = EventSchedulerConfig.builder()
+            .testConfig(TestConfig.builder().build())
+            .keepAliveIntervalInMillis(50)
+            .build();
+
+        EventScheduler eventScheduler = new EventSchedulerBuilderInternal()
+            .setEventSchedulerContext(config.toContext(EventLoggerStdOut.INSTANCE))
+            .build();
+
+        eventScheduler.startSession();
+        Thread.sleep(300);
+        eventScheduler.stopSession();
+
+        KeepAliveMetrics keepAliveMetrics = eventScheduler.getKeepAliveMetrics();
+        assertTrue("expected keep alive ticks: " + keepAliveMetrics, keepAliveMetrics.getTickCount() >= 2);
+        assertEquals(0, keepAliveMetrics.getSkippedTickCount());
+    }
+
+    @Test
+    public void testMergeTestContextChanges() {
+        TestContext base = TestConfig.builder().workload("base").tags(Collections.singletonList("base")).build().toContext();
+        TestContext first = base.withWorkload("first").withVersion("2.0").withTags(Arrays.asList("base", "first"));
+        TestContext second = base.withWorkload("second").withTags(Arrays.asList("base", "second"));
+
+        TestContext merged = EventSchedulerBuilderInternal.mergeChanges(base, base, first);
+        merged = EventSchedulerBuilderInternal.mergeChanges(merged, base, second);
+
+        assertEquals("second", merged.getWorkload());
+        assertEquals("2.0", merged.getVersion());
+        assertEquals(base.getTestRunId(), merged.getTestRunId());
+        assertEquals(Arrays.asList("base", "first", "second"), merged.getTags());
+    }
+
+    @Test
+    public void testMergeTestContextRemovedTags() {
+        TestContext base = TestConfig.builder().tags(Arrays.asList("base", "old")).build().toContext();
+        TestContext first = base.withTags(Arrays.asList("base", "first"));
+        TestContext second = base.withTags(Arrays.asList("base", "old", "second"));
+
+        TestContext merged = EventSchedulerBuilderInternal.mergeChanges(base, base, first);
+        merged = EventSchedulerBuilderInternal.mergeChanges(merged, base, second);
+
+        assertEquals(Arrays.asList("base", "first", "second"), merged.getTags());
+    }
+
+    @Test
+    public void testMergeTestContextChangesAllFields() throws Exception {
+        // fails when a field is added to TestContext that mergeChanges does not merge
+        TestContext base = TestConfig.builder().build().toContext();
+        for (Field field : TestContext.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            Object value = field.getType() == Duration.class ? Duration.ofSeconds(4242)
+                : field.getType() == List.class ? Collections.singletonList("changed")
+                : "changed";
+            String name = Character.toUpperCase(field.getName().charAt(0)) + field.getName().substring(1);
+            TestContext extended = (TestContext) TestContext.class.getMethod("with" + name, field.getType()).invoke(base, value);
+
+            TestContext merged = EventSchedulerBuilderInternal.mergeChanges(base, base, extended);
+
+            field.setAccessible(true);
+            assertEquals("field not merged: " + field.getName(), value, field.get(merged));
+        }
+    }
+
+    @Test(expected = EventSchedulerRuntimeException.class)
+    public void testEventTimeoutShouldBeLargerThanZero() {
+        EventConfig.builder().name("no-time").keepAliveTimeoutInSeconds(0).build().toContext();
+    }
+
+    @Test(expected = EventSchedulerRuntimeException.class)
+    public void testSchedulerTimeoutShouldBeLargerThanZero() {
+        EventSchedulerConfig.builder()
+            .testConfig(TestConfig.builder().build())
+            .customEventTimeoutInSeconds(-1)
+            .build()
+            .toContext(EventLoggerStdOut.INSTANCE);
+    }
+
+    @Test
+    public void testEventContextWithoutTimeouts() {
+        EventContext eventContext = new EventContext("old-style", "io.perfana.eventscheduler.event.EventFactoryDefault", true, null, false, false);
+        assertTrue(eventContext.getPhaseTimeouts().isEmpty());
+    }
+
     @Test(expected = EventSchedulerRuntimeException.class)
     public void testUniqueEventNameCheck() {
         EventSchedulerConfig config = EventSchedulerConfig.builder()
@@ -111,4 +258,27 @@ public class EventSchedulerBuilderTest {
                 .build();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testJournalClosedWhenBuildFails() throws IOException {
+        Path journalFile = Files.createTempFile("event-journal", ".bin");
+        EventSchedulerConfig config = EventSchedulerConfig.builder()
+            .testConfig(TestConfig.builder().build())
+            .journalFile(journalFile.toString())
+            .eventConfig(EventConfig.builder().name("one").build())
+            .eventConfig(EventConfig.builder().name("one").build())
+            .build();
+
+        try {
+            new EventSchedulerBuilderInternal()
+                .setEventSchedulerContext(config.toContext(EventLoggerStdOut.INSTANCE))
+                .build();
+            fail("expected a duplicate event name failure");
+        } catch (EventSchedulerRuntimeException e) {
+            assertTrue("journal writer should be stopped", Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> thread.getName().startsWith("EventJournal-Writer")));
+        } finally {
+            Files.deleteIfExists(journalFile);
+        }
+    }
+
+}
@@ -16,8 +16,10 @@
 package io.perfana.eventscheduler;
 
 import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.CustomEventSchedulerType;
 import io.perfana.eventscheduler.api.EventGenerator;
 import io.perfana.eventscheduler.api.EventGeneratorProperties;
+import io.perfana.eventscheduler.api.KeepAliveOverrunPolicy;
 import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
 import io.perfana.eventscheduler.generator.EventGeneratorDefault;
 import io.perfana.eventscheduler.generator.EventGeneratorFactoryDefault;
@@ -25,12 +27,22 @@ import io.perfana.eventscheduler.log.CountErrorsEventLogger;
 import io.perfana.eventscheduler.log.EventLoggerStdOut;
 import org.junit.Test;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
 
 public class EventSchedulerEngineTest {
@@ -61,6 +73,15 @@ public class EventSchedulerEngineTest {
 
     @Test
     public void runMultipleEventsWithExceptions() throws InterruptedException {
+        runMultipleEventsWithExceptions(CustomEventSchedulerType.EXECUTOR);
+    }
+
+    @Test
+    public void runMultipleEventsWithExceptionsTimingWheel() throws InterruptedException {
+        runMultipleEventsWithExceptions(CustomEventSchedulerType.TIMING_WHEEL);
+    }
+
+    private void runMultipleEventsWithExceptions(CustomEventSchedulerType customEventSchedulerType) throws InterruptedException {
 
         List<CustomEvent> events = new ArrayList<>();
         events.add(CustomEvent.createFromLine("PT0.1S|my-event(phase 1)"));
@@ -70,7 +91,7 @@ public class EventSchedulerEngineTest {
         events.add(CustomEvent.createFromLine("PT0.5S|my-event(phase 5)"));
 
         CountErrorsEventLogger countErrorsEventLogger = CountErrorsEventLogger.of(EventLoggerStdOut.INSTANCE);
-        EventSchedulerEngine engine = new EventSchedulerEngine(countErrorsEventLogger);
+        EventSchedulerEngine engine = new EventSchedulerEngine(countErrorsEventLogger, customEventSchedulerType);
 
         EventBroadcaster eventBroadcaster = mock(EventBroadcaster.class);
         // expect 5 calls, two will throw an Exception, see if flow continues
@@ -93,4 +114,144 @@ public class EventSchedulerEngineTest {
         assertEquals("two errors expected in logger", 2, countErrorsEventLogger.errorCount());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void keepAliveWithSubSecondInterval() throws InterruptedException {
+        CountErrorsEventLogger countErrorsEventLogger = CountErrorsEventLogger.of(EventLoggerStdOut.INSTANCE);
+        EventSchedulerEngine engine = new EventSchedulerEngine(countErrorsEventLogger);
+
+        EventBroadcaster eventBroadcaster = mock(EventBroadcaster.class);
+        CountDownLatch calls = new CountDownLatch(6);
+        doAnswer(invocation -> { calls.countDown(); return null; })
+                .when(eventBroadcaster).broadcastKeepAlive();
+
+        engine.startKeepAliveThread("sub-second", Duration.ofMillis(50), KeepAliveOverrunPolicy.CATCH_UP, eventBroadcaster, null);
+
+        // expect calls at 0, 50, 100, 150, 200 and 250 ms, with plenty of slack for a busy machine
+        assertTrue("expected 6 keep alive calls", calls.await(5, TimeUnit.SECONDS));
+
+        engine.shutdownThreads();
+
+        long ticks = engine.getKeepAliveTickCount();
+        assertTrue("expected at least 6 keep alive ticks: " + ticks, ticks >= 6);
+        verify(eventBroadcaster, atLeast(6)).broadcastKeepAlive();
+        assertEquals("zero errors expected in logger", 0, countErrorsEventLogger.errorCount());
+    }
+
+    @Test
+    public void keepAliveSkipsMissedTicks() throws InterruptedException {
+        CountErrorsEventLogger countErrorsEventLogger = CountErrorsEventLogger.of(EventLoggerStdOut.INSTANCE);
+        EventSchedulerEngine engine = new EventSchedulerEngine(countErrorsEventLogger);
+
+        EventBroadcaster eventBroadcaster = mock(EventBroadcaster.class);
+        CountDownLatch calls = new CountDownLatch(3);
+        // each keep alive call takes more than two intervals
+        doAnswer(invocation -> { calls.countDown(); Thread.sleep(120); return null; })
+                .when(eventBroadcaster).broadcastKeepAlive();
+
+        engine.startKeepAliveThread("skip", Duration.ofMillis(50), KeepAliveOverrunPolicy.SKIP, eventBroadcaster, null);
+
+        // expect calls at 0, 150 and 300 ms, the ticks in between are skipped instead of run back to back
+        assertTrue("expected 3 keep alive calls", calls.await(5, TimeUnit.SECONDS));
+
+        engine.shutdownThreads();
+
+        // the third call only starts after the first two calls finished and skipped at least two ticks each
+        long ticks = engine.getKeepAliveTickCount();
+        assertTrue("expected at least 3 keep alive ticks: " + ticks, ticks >= 3);
+        assertTrue("expected overruns: " + engine.getKeepAliveOverrunCount(), engine.getKeepAliveOverrunCount() >= 2);
+        assertTrue("expected skipped ticks: " + engine.getKeepAliveSkippedTickCount(), engine.getKeepAliveSkippedTickCount() >= 4);
+    }
+
+    @Test
+    public void createBatchesWithSameFireTimeOrWithinWindow() {
+        EventSchedulerEngine engine = new EventSchedulerEngine(EventLoggerStdOut.INSTANCE, CustomEventSchedulerType.EXECUTOR,
+            Duration.ofSeconds(60), Duration.ofMillis(50));
+
+        CustomEvent a = CustomEvent.createFromLine("PT1S|a");
+        CustomEvent b = CustomEvent.createFromLine("PT1S|b");
+        CustomEvent c = CustomEvent.createFromLine("PT1.04S|c");
+        CustomEvent d = CustomEvent.createFromLine("PT1.1S|d");
+        CustomEvent e = CustomEvent.createFromLine("PT0.5S|e");
+
+        List<List<CustomEvent>> batches = engine.createBatches(Arrays.asList(a, b, c, d, e));
+
+        assertEquals(Arrays.asList(Collections.singletonList(e), Arrays.asList(a, b, c), Collections.singletonList(d)), batches);
+    }
+
+    @Test
+    public void runBatchOfCustomEventsWithSameFireTime() throws InterruptedException {
+        EventSchedulerEngine engine = new EventSchedulerEngine(EventLoggerStdOut.INSTANCE);
+
+        EventBroadcaster eventBroadcaster = mock(EventBroadcaster.class);
+
+        CustomEvent first = CustomEvent.createFromLine("PT0.1S|first");
+        CustomEvent second = CustomEvent.createFromLine("PT0.1S|second");
+        CustomEvent third = CustomEvent.createFromLine("PT0.2S|third");
+
+        engine.startCustomEventScheduler(Arrays.asList(first, second, third), eventBroadcaster);
+
+        Thread.sleep(300);
+
+        engine.shutdownThreads();
+
+        verify(eventBroadcaster, times(1)).broadcastCustomEvents(Arrays.asList(first, second));
+        verify(eventBroadcaster, times(1)).broadcastCustomEvent(third);
+        verifyNoMoreInteractions(eventBroadcaster);
+    }
+
+    @Test
+    public void runStreamedEventsWithinScheduleWindow() throws InterruptedException {
+        CountErrorsEventLogger countErrorsEventLogger = CountErrorsEventLogger.of(EventLoggerStdOut.INSTANCE);
+        EventSchedulerEngine engine = new EventSchedulerEngine(countErrorsEventLogger, CustomEventSchedulerType.EXECUTOR, Duration.ofMillis(100));
+
+        EventBroadcaster eventBroadcaster = mock(EventBroadcaster.class);
+
+        // infinite schedule: an event every 20 ms
+        AtomicInteger pulledEvents = new AtomicInteger(0);
+        Iterable<CustomEvent> events = () -> Stream.iterate(1, i -> i + 1)
+                .map(i -> new CustomEvent(Duration.ofMillis(i * 20L), "my-event", "event " + i))
+                .peek(e -> pulledEvents.incrementAndGet())
+                .iterator();
+
+        engine.startCustomEventScheduler(events, eventBroadcaster);
+
+        // expect events at 20, 40, ..., 300 ms
+        Thread.sleep(310);
+
+        engine.shutdownThreads();
+
+        verify(eventBroadcaster, atLeast(14)).broadcastCustomEvent(any(CustomEvent.class));
+        verify(eventBroadcaster, atMost(17)).broadcastCustomEvent(any(CustomEvent.class));
+        assertTrue("only events within the schedule window should be pulled: " + pulledEvents.get(), pulledEvents.get() <= 22);
+        assertEquals("zero errors expected in logger", 0, countErrorsEventLogger.errorCount());
+    }
+
+    @Test
+    public void closeStreamedEvents() throws InterruptedException {
+        EventSchedulerEngine engine = new EventSchedulerEngine(EventLoggerStdOut.INSTANCE, CustomEventSchedulerType.EXECUTOR, Duration.ofMillis(100));
+        EventBroadcaster eventBroadcaster = mock(EventBroadcaster.class);
+
+        // finite schedule: closed when all events are scheduled
+        AtomicBoolean finiteClosed = new AtomicBoolean(false);
+        CustomEventStream finiteEvents = new CustomEventStream(() -> Stream.of(
+                new CustomEvent(Duration.ofMillis(10), "my-event", "first"),
+                new CustomEvent(Duration.ofMillis(20), "my-event", "second"))
+            .onClose(() -> finiteClosed.set(true)));
+
+        engine.startCustomEventScheduler(finiteEvents, eventBroadcaster);
+        assertTrue("stream should be closed when all events are scheduled", finiteClosed.get());
+        engine.shutdownThreads();
+
+        // infinite schedule: closed at shutdown
+        AtomicBoolean infiniteClosed = new AtomicBoolean(false);
+        CustomEventStream infiniteEvents = new CustomEventStream(() -> Stream.iterate(1, i -> i + 1)
+            .map(i -> new CustomEvent(Duration.ofMillis(i * 20L), "my-event", "event " + i))
+            .onClose(() -> infiniteClosed.set(true)));
+
+        engine.startCustomEventScheduler(infiniteEvents, eventBroadcaster);
+        Thread.sleep(50);
+        assertFalse(infiniteClosed.get());
+        engine.shutdownThreads();
+        assertTrue("stream should be closed at shutdown", infiniteClosed.get());
+    }
+}
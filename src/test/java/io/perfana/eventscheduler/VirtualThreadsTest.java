@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler;
+
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs with the java 11 classes in the test task and with the java 21 classes of the
+ * multi-release jar in the testJava21 task.
+ */
+public class VirtualThreadsTest {
+
+    private static final boolean JAVA_21 = Runtime.version().feature() >= 21;
+
+    @Test
+    public void supportedFromJava21() {
+        assertEquals(JAVA_21, VirtualThreads.isSupported());
+    }
+
+    @Test
+    public void runsTasksInVirtualThreads() throws Exception {
+        ExecutorService executor = VirtualThreads.newVirtualThreadPerTaskExecutor("virtual-test-");
+        if (!JAVA_21) {
+            assertNull(executor);
+            return;
+        }
+        try {
+            // Thread.isVirtual is not available to compile against java 11
+            Future<Object> isVirtual = executor.submit(() -> Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+            assertEquals(Boolean.TRUE, isVirtual.get(2, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.api;
+
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class CustomEventParserTest {
+
+    private static final List<String> LINES = Arrays.asList(
+        "PT13S|eventname",
+        "  PT13S|eventname( )|settings  =  0; foo= bar\n",
+        "PT13S|eventname(Nice description of event)",
+        "PT1H2M3.25S|restart(restart with 2 replicas)|{ server:'myserver' replicas:2 }",
+        "PT10M|scale-down|",
+        "PT10M|scale-down| ",
+        "PT0.000000001S|tiny||",
+        "P1DT2H|long-test",
+        "PT-5S|negative",
+        "pt5s|lowercase",
+        "PT5S|na!me(de$scr#iption)extra|x",
+        "PT5S|name(\uD83D\uDE00)",
+        "PT5S|name(no closing parentheses",
+        "PT5X|name(no closing parentheses and wrong duration",
+        "|no-duration-is-an-error");
+
+    @Test
+    public void parseLineSameAsCreateFromLine() {
+        for (String line : LINES) {
+            Object expected;
+            try {
+                expected = CustomEvent.createFromLine(line);
+            } catch (RuntimeException e) {
+                expected = e.getClass();
+            }
+            Object actual;
+            try {
+                actual = CustomEventParser.parseLine(line);
+            } catch (RuntimeException e) {
+                actual = e.getClass();
+            }
+            assertEquals("line: " + line, expected, actual);
+        }
+    }
+
+    @Test
+    public void parseScheduleSkipsCommentsAndEmptyLines() {
+        String schedule = "# comment\r\n" +
+            "@generatorFactoryClass=x\n" +
+            "\n" +
+            "  PT1M|first(the first)|a=b  \r\n" +
+            "PT2M|second\n";
+
+        List<CustomEvent> events = CustomEventParser.parse(schedule);
+
+        assertEquals(2, events.size());
+        assertEquals(new CustomEvent(Duration.ofMinutes(1), "first", "the first", "a=b"), events.get(0));
+        assertEquals(new CustomEvent(Duration.ofMinutes(2), "second", ""), events.get(1));
+    }
+
+    @Test
+    public void streamSameAsParse() {
+        String schedule = "PT1M|first\n# comment\nPT1.5S|second(description)|settings\n";
+
+        try (Stream<CustomEvent> events = CustomEventParser.stream(new StringReader(schedule))) {
+            assertEquals(CustomEventParser.parse(schedule), events.collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void errorReportsLineAndColumn() {
+        try {
+            CustomEventParser.parse("PT1M|first\n\nPT1M|second\n   PT1X|third\n");
+            fail("expected wrong format");
+        } catch (CustomEvent.ScheduleEventWrongFormat e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("line 4, column 4: Failed to parse duration: [PT1X]"));
+        }
+    }
+
+    @Test
+    public void errorColumnCountsFromStartOfLine() {
+        try {
+            CustomEventParser.parse("PT1M|first\n  PT2M|second(missing\n");
+            fail("expected missing parentheses");
+        } catch (EventSchedulerRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("line 2, column 14: closing parentheses ')' is missing"));
+        }
+        try {
+            CustomEventParser.parse("\t no separator");
+            fail("expected wrong format");
+        } catch (CustomEvent.ScheduleEventWrongFormat e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("line 1, column 3: "));
+        }
+    }
+
+    @Test(expected = CustomEvent.ScheduleEventWrongFormat.class)
+    public void tooManyElements() {
+        CustomEventParser.parse("PT1M|name|settings|more");
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.generator;
+
+import io.perfana.eventscheduler.api.CustomEvent;
+import io.perfana.eventscheduler.api.CustomEventParser;
+import io.perfana.eventscheduler.api.EventGenerator;
+import io.perfana.eventscheduler.api.EventGeneratorProperties;
+import io.perfana.eventscheduler.api.EventGeneratorStreaming;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import io.perfana.eventscheduler.log.EventLoggerStdOut;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class BinaryScheduleTest {
+
+    private static final String SCHEDULE =
+        "PT10M|scale-down\n" +
+        "PT5S|restart(restart with 2 replicas)|{ server:'myserver' replicas:2 }\n" +
+        "PT10M45S|heapdump(generate heapdump)|server=myserver.example.com;port=1567\n" +
+        "PT5S|restart(restart with 2 replicas)|{ server:'myserver' replicas:2 }\n" +
+        "PT0.5S|empty-settings||\n";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void convertAndRead() throws IOException {
+        Path binarySchedule = convert(SCHEDULE);
+
+        List<CustomEvent> expected = CustomEventParser.parse(SCHEDULE);
+        expected.sort((e1, e2) -> e1.getDuration().compareTo(e2.getDuration()));
+
+        BinaryScheduleReader reader = new BinaryScheduleReader(binarySchedule);
+        assertEquals(5, reader.size());
+        assertEquals(expected, reader.stream().collect(Collectors.toList()));
+        // same strings are decoded once
+        assertSame(reader.get(1).getName(), reader.get(2).getName());
+    }
+
+    @Test
+    public void generator() throws IOException {
+        Path binarySchedule = convert(SCHEDULE);
+
+        EventGeneratorProperties properties = new EventGeneratorProperties(
+            Collections.singletonMap(EventGeneratorBinary.SCHEDULE_FILE, binarySchedule.toString()));
+        EventGenerator generator = new EventGeneratorFactoryBinary().create(properties, EventLoggerStdOut.INSTANCE);
+
+        assertTrue(generator instanceof EventGeneratorStreaming);
+        assertEquals(5, generator.generate().size());
+    }
+
+    @Test(expected = EventSchedulerRuntimeException.class)
+    public void notABinarySchedule() throws IOException {
+        Path textSchedule = folder.getRoot().toPath().resolve("schedule.txt");
+        Files.write(textSchedule, SCHEDULE.getBytes(StandardCharsets.UTF_8));
+        new BinaryScheduleReader(textSchedule);
+    }
+
+    @Test(expected = EventSchedulerRuntimeException.class)
+    public void corruptStringLength() throws IOException {
+        Path binarySchedule = convert(SCHEDULE);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(binarySchedule));
+        int stringDataStart = (int) bytes.getLong(16) + bytes.getInt(12) * Integer.BYTES;
+        // first string claims more bytes than are in the file
+        bytes.putInt(stringDataStart, Integer.MAX_VALUE);
+        Files.write(binarySchedule, bytes.array());
+
+        new BinaryScheduleReader(binarySchedule).get(0);
+    }
+
+    private Path convert(String schedule) throws IOException {
+        Path textSchedule = folder.getRoot().toPath().resolve("schedule.txt");
+        Path binarySchedule = folder.getRoot().toPath().resolve("schedule.bin");
+        Files.write(textSchedule, schedule.getBytes(StandardCharsets.UTF_8));
+        assertEquals(5, BinaryScheduleWriter.convert(textSchedule, binarySchedule));
+        return binarySchedule;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.journal;
+
+import io.perfana.eventscheduler.api.EventPhase;
+import io.perfana.eventscheduler.api.message.EventMessage;
+import io.perfana.eventscheduler.log.EventLoggerStdOut;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventJournalTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordAndDump() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("journal.bin");
+        EventJournal journal = new EventJournal(file, EventLoggerStdOut.INSTANCE);
+
+        journal.recordMessage(EventMessage.builder()
+            .timestamp(1000L)
+            .pluginName("my-plugin")
+            .message("say \"hi\"\n")
+            .variable("message-type", "test-run-config")
+            .build());
+        journal.recordBroadcast("my-event", EventPhase.KEEP_ALIVE, 100L, 2100L, null);
+        journal.recordBroadcast("my-event", EventPhase.CHECK, 3000L, 4000L, new IllegalStateException("oops"));
+        journal.close();
+
+        StringBuilder out = new StringBuilder();
+        assertEquals(3, EventJournalReader.dump(file, out));
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0], lines[0].startsWith("{\"type\":\"message\""));
+        assertTrue(lines[0], lines[0].contains("\"timestamp\":1000,\"pluginName\":\"my-plugin\",\"message\":\"say \\\"hi\\\"\\n\""));
+        assertTrue(lines[0], lines[0].endsWith("\"variables\":{\"message-type\":\"test-run-config\"}}"));
+        assertTrue(lines[1], lines[1].contains("\"event\":\"my-event\",\"phase\":\"KEEP_ALIVE\""));
+        assertTrue(lines[1], lines[1].endsWith("\"startNanos\":100,\"endNanos\":2100,\"durationMicros\":2,\"outcome\":\"success\"}"));
+        assertTrue(lines[2], lines[2].endsWith("\"outcome\":\"failure\",\"failure\":\"java.lang.IllegalStateException: oops\"}"));
+    }
+
+    @Test
+    public void recordOverManyRegions() throws IOException {
+        Path file = folder.getRoot().toPath().resolve("journal.bin");
+        EventJournal journal = new EventJournal(file, EventLoggerStdOut.INSTANCE, 256, 16);
+
+        for (int i = 0; i < 1000; i++) {
+            journal.recordBroadcast("event-" + i, EventPhase.CUSTOM_EVENT, i, i + 1, null);
+        }
+        // larger than a region
+        journal.recordMessage(EventMessage.builder().message(new String(new char[1000]).replace('\0', 'x')).build());
+        journal.close();
+
+        StringBuilder out = new StringBuilder();
+        assertEquals(1001, EventJournalReader.dump(file, out));
+        assertTrue(out.toString().contains("\"event\":\"event-999\""));
+    }
+
+    @Test
+    public void recordFromManyThreads() throws IOException, InterruptedException {
+        Path file = folder.getRoot().toPath().resolve("journal.bin");
+        EventJournal journal = new EventJournal(file, EventLoggerStdOut.INSTANCE, 4096, 64);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            String eventName = "event-" + t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    journal.recordBroadcast(eventName, EventPhase.KEEP_ALIVE, i, i + 1, null);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        journal.flush();
+        journal.close();
+        // ignored after close
+        journal.recordBroadcast("after-close", EventPhase.KEEP_ALIVE, 0, 1, null);
+
+        StringBuilder out = new StringBuilder();
+        assertEquals(4000, EventJournalReader.dump(file, out));
+        assertFalse(out.toString().contains("after-close"));
+    }
+
+    @Test
+    public void phaseCodesAreStable() {
+        // the codes are in journal files, they never change
+        EventPhase[] phases = { EventPhase.BEFORE_TEST, EventPhase.START_TEST, EventPhase.KEEP_ALIVE,
+            EventPhase.CUSTOM_EVENT, EventPhase.CHECK, EventPhase.AFTER_TEST, EventPhase.ABORT_TEST };
+        for (int code = 0; code < phases.length; code++) {
+            assertEquals(code, EventJournal.phaseCode(phases[code]));
+        }
+        // a new phase needs a new code
+        for (EventPhase phase : EventPhase.values()) {
+            assertEquals(phase, EventJournal.phase(EventJournal.phaseCode(phase)));
+        }
+    }
+}
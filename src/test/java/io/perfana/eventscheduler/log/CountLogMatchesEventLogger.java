@@ -26,14 +26,23 @@ public class CountLogMatchesEventLogger implements EventLogger {
 
     private final AtomicInteger matchCounter = new AtomicInteger(0);
     private final Function<String, Boolean> matchFunction;
+    private final boolean matchWarn;
 
-    private CountLogMatchesEventLogger(EventLogger wrappedEventLogger, Function<String, Boolean> matchFunction) {
+    private CountLogMatchesEventLogger(EventLogger wrappedEventLogger, Function<String, Boolean> matchFunction, boolean matchWarn) {
         this.wrappedEventLogger = wrappedEventLogger;
         this.matchFunction = matchFunction;
+        this.matchWarn = matchWarn;
     }
 
     public static CountLogMatchesEventLogger of(EventLogger eventLogger, Function<String, Boolean> matchFunction) {
-        return new CountLogMatchesEventLogger(eventLogger, matchFunction);
+        return new CountLogMatchesEventLogger(eventLogger, matchFunction, false);
+    }
+
+    /**
+     * Also counts the matches of the warn messages.
+     */
+    public static CountLogMatchesEventLogger ofIncludingWarn(EventLogger eventLogger, Function<String, Boolean> matchFunction) {
+        return new CountLogMatchesEventLogger(eventLogger, matchFunction, true);
     }
 
     @Override
@@ -44,6 +53,9 @@ public class CountLogMatchesEventLogger implements EventLogger {
 
     @Override
     public void warn(String message) {
+        if (matchWarn) {
+            checkForMatch(message);
+        }
         wrappedEventLogger.warn(message);
     }
 
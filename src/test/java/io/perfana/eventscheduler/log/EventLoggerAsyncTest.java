@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.log;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventLoggerAsyncTest {
+
+    @Test
+    public void logFromManyThreads() throws InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventLoggerAsync logger = new EventLoggerAsync(new PrintStream(bytes, true, StandardCharsets.UTF_8), true, 64, LogOverflowPolicy.BLOCK);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int threadNumber = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    logger.info("thread " + threadNumber + " line " + i);
+                }
+            }, "log-thread-" + t));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        logger.debug("last line");
+        logger.close();
+
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(4001, lines.length);
+        assertEquals(0, logger.getDroppedCount());
+        assertTrue(lines[0], lines[0].matches("\\d\\d:\\d\\d:\\d\\d\\.\\d{3} ## INFO  ## log-thread-\\d ## thread \\d line \\d+"));
+        assertTrue(lines[4000], lines[4000].endsWith(" ## DEBUG ## main ## last line"));
+    }
+
+    @Test
+    public void closeWhileLogging() throws InterruptedException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        EventLoggerAsync logger = new EventLoggerAsync(new PrintStream(bytes, true, StandardCharsets.UTF_8), false, 16, LogOverflowPolicy.BLOCK);
+
+        CountDownLatch started = new CountDownLatch(4);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < 2000; i++) {
+                    logger.info("line " + i);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        started.await();
+        // the log calls around close are written by the writer or directly, none are lost
+        logger.close();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(8000, lines.length);
+        assertEquals(0, logger.getDroppedCount());
+    }
+
+    @Test
+    public void dropWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream blockingOut = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                try {
+                    release.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                bytes.write(b, off, len);
+            }
+        };
+        EventLoggerAsync logger = new EventLoggerAsync(new PrintStream(blockingOut, false, StandardCharsets.UTF_8), false, 4, LogOverflowPolicy.DROP);
+
+        for (int i = 0; i < 20; i++) {
+            logger.warn("line " + i);
+        }
+        long dropped = logger.getDroppedCount();
+        release.countDown();
+        logger.close();
+
+        assertTrue("expected dropped lines: " + dropped, dropped > 0);
+        String[] lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(20, lines.length + dropped);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.log;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventLoggerWithNameTest {
+
+    @Test
+    public void debugSupplierNotCalledWhenDebugDisabled() {
+        CountLogMatchesEventLogger matchLogger = CountLogMatchesEventLogger.of(EventLoggerStdOut.INSTANCE, s -> true);
+        EventLoggerWithName logger = new EventLoggerWithName("myEvent", "io.perfana.MyEventFactory", matchLogger);
+
+        AtomicInteger supplierCalls = new AtomicInteger();
+        logger.debugLazy(() -> "debug " + supplierCalls.incrementAndGet());
+
+        assertFalse(logger.isDebugEnabled());
+        assertEquals("supplier should not be called", 0, supplierCalls.get());
+        assertEquals("debug should not be logged", 0, matchLogger.matchCount());
+    }
+
+    @Test
+    public void debugSupplierCalledWhenDebugEnabled() {
+        CountLogMatchesEventLogger matchLogger = CountLogMatchesEventLogger.of(EventLoggerStdOut.INSTANCE_DEBUG,
+            s -> s.equals("[MyEventFactory] [myEvent] debug enabled"));
+        EventLoggerWithName logger = new EventLoggerWithName("myEvent", "io.perfana.MyEventFactory", matchLogger);
+
+        logger.debugLazy(() -> "debug " + "enabled");
+
+        assertTrue(logger.isDebugEnabled());
+        assertEquals(1, matchLogger.matchCount());
+    }
+
+    @Test
+    public void debugNullMessage() {
+        CountLogMatchesEventLogger matchLogger = CountLogMatchesEventLogger.of(EventLoggerStdOut.INSTANCE_DEBUG,
+            s -> s.equals("[MyEventFactory] [myEvent] null"));
+        EventLoggerWithName logger = new EventLoggerWithName("myEvent", "io.perfana.MyEventFactory", matchLogger);
+
+        // not ambiguous: the lazy variants have their own names
+        logger.debug(null);
+
+        assertEquals(1, matchLogger.matchCount());
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.record(millis * 1_000_000);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000_000, histogram.getMaxNanos());
+        assertEquals(500_500_000, histogram.getMeanNanos());
+        assertWithinPercent(500_000_000, histogram.getValueAtPercentile(50));
+        assertWithinPercent(990_000_000, histogram.getValueAtPercentile(99));
+        assertEquals(1_000_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void emptyAndOutOfRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMeanNanos());
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getMaxNanos());
+    }
+
+    @Test
+    public void bucketsCoverAllValues() {
+        long previousHighest = -1;
+        for (int index = 0; LatencyHistogram.highestValueInBucket(index) < (1L << 42) - 1; index++) {
+            long highest = LatencyHistogram.highestValueInBucket(index);
+            assertEquals("bucket of " + highest, index, LatencyHistogram.bucketIndex(highest));
+            assertEquals("bucket of " + (previousHighest + 1), index, LatencyHistogram.bucketIndex(previousHighest + 1));
+            previousHighest = highest;
+        }
+    }
+
+    private static void assertWithinPercent(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual, Math.abs(actual - expected) <= expected / 32);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class RingBufferTest {
+
+    private static final class Value extends RingBuffer.Entry {
+        private int value;
+    }
+
+    @Test
+    public void consumeInOrderPerProducer() throws InterruptedException {
+        List<Integer> consumed = Collections.synchronizedList(new ArrayList<>());
+        RingBuffer<Value> ringBuffer = new RingBuffer<>(8, Value::new, false, value -> consumed.add(value.value), "test-consumer");
+
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            int producer = p;
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    Value value = ringBuffer.claim();
+                    value.value = producer * 1000 + i;
+                    ringBuffer.publish(value);
+                }
+            }));
+        }
+        producers.forEach(Thread::start);
+        // the producers that claimed before close are all consumed
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertTrue(ringBuffer.close(1000));
+
+        assertEquals(4000, consumed.size());
+        int[] last = { -1, 999, 1999, 2999 };
+        for (int value : consumed) {
+            assertTrue("values of a producer should be in order", value > last[value / 1000]);
+            last[value / 1000] = value;
+        }
+        assertNull("no claims after close", ringBuffer.claim());
+    }
+
+    @Test
+    public void dropWhenFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RingBuffer<Value> ringBuffer = new RingBuffer<>(2, Value::new, true, value -> {
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "test-consumer");
+
+        // the consumer blocks on the first, its entry is freed after consume, so one more fits
+        int claimed = 0;
+        for (int i = 0; i < 5; i++) {
+            Value value = ringBuffer.claim();
+            if (value != null) {
+                claimed++;
+                ringBuffer.publish(value);
+            }
+            Thread.sleep(10);
+        }
+        release.countDown();
+        assertTrue(ringBuffer.close(1000));
+
+        assertEquals(2, claimed);
+        assertEquals(2, ringBuffer.consumedPosition());
+    }
+}
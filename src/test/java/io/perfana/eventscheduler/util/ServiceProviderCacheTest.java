@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2026 Peter Paul Bakker, Perfana
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.perfana.eventscheduler.util;
+
+import io.perfana.eventscheduler.api.EventFactory;
+import io.perfana.eventscheduler.event.EventFactoryDefault;
+import io.perfana.eventscheduler.event.EventFactoryProvider;
+import io.perfana.eventscheduler.exception.EventSchedulerRuntimeException;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ServiceProviderCacheTest {
+
+    @Test
+    public void providerClassNamesAreCachedPerClassLoader() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        List<String> classNames = ServiceProviderCache.providerClassNames(EventFactory.class, classLoader);
+
+        assertTrue(classNames.contains(EventFactoryDefault.class.getName()));
+        assertSame(classNames, ServiceProviderCache.providerClassNames(EventFactory.class, classLoader));
+    }
+
+    @Test
+    public void newInstance() {
+        EventFactory factory = ServiceProviderCache.newInstance(EventFactory.class, EventFactoryDefault.class.getName(), null);
+        assertTrue(factory instanceof EventFactoryDefault);
+    }
+
+    @Test(expected = EventSchedulerRuntimeException.class)
+    public void newInstanceOfUnknownClass() {
+        ServiceProviderCache.newInstance(EventFactory.class, "io.perfana.eventscheduler.DoesNotExist", null);
+    }
+
+    @Test
+    public void eventFactoryProviderCreatesFactoryOnce() {
+        EventFactoryProvider provider = EventFactoryProvider.createInstanceFromClasspath();
+
+        EventFactory factory = provider.factoryByClassName(EventFactoryDefault.class.getName()).orElseThrow(AssertionError::new);
+
+        assertSame(factory, provider.factoryByClassName(EventFactoryDefault.class.getName()).orElseThrow(AssertionError::new));
+        assertFalse(provider.factoryByClassName("io.perfana.eventscheduler.DoesNotExist").isPresent());
+    }
+}